@@ -0,0 +1,28 @@
+package ua.com.zmike.userservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ua.com.zmike.userservice.filter.AccessLogFilter;
+import ua.com.zmike.userservice.service.AccessLogService;
+
+import java.util.Map;
+import java.util.Set;
+
+@Configuration
+public class AccessLogConfig {
+
+    @Value("${access-log.sample-rate}")
+    private double sampleRate;
+    @Value("#{${access-log.handler-sample-rates}}")
+    private Map<String, Double> handlerSampleRates;
+    @Value("${access-log.masked-parameters}")
+    private Set<String> maskedParameters;
+
+    @Bean
+    @ConditionalOnProperty(name = "access-log.enabled", havingValue = "true")
+    public AccessLogFilter accessLogFilter(AccessLogService accessLogService) {
+        return new AccessLogFilter(accessLogService, sampleRate, handlerSampleRates, maskedParameters);
+    }
+}
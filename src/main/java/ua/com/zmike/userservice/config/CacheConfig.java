@@ -0,0 +1,34 @@
+package ua.com.zmike.userservice.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ua.com.zmike.userservice.dto.UserDto;
+import ua.com.zmike.userservice.util.CacheLoadGuard;
+import ua.com.zmike.userservice.util.SingleFlight;
+
+// caching is enabled for the cache manager to be configured, users are read and cached through CacheLoadGuard
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String USERS_CACHE = "users";
+    // Hibernate second-level cache regions, bounded in application.conf
+    public static final String ADDRESS_REGION = "address";
+    public static final String ADDRESS_LOOKUP_REGION = "address-lookup";
+
+    @Bean
+    public SingleFlight<Long, UserDto> userLookupSingleFlight(MeterRegistry meterRegistry) {
+        return new SingleFlight<>(Counter.builder("users.lookup.collapsed")
+                .description("Lookups of a user by id served by a load already in flight")
+                .register(meterRegistry));
+    }
+
+    @Bean
+    public CacheLoadGuard cacheLoadGuard(CacheManager cacheManager) {
+        return new CacheLoadGuard(cacheManager);
+    }
+}
@@ -0,0 +1,81 @@
+package ua.com.zmike.userservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import ua.com.zmike.userservice.service.SlowQueryLogService;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+@Configuration
+public class DataSourceConfig {
+
+    @Value("${datasource.replica.urls}")
+    private List<String> replicaUrls;
+    @Value("${datasource.replica.username}")
+    private String replicaUsername;
+    @Value("${datasource.replica.password}")
+    private String replicaPassword;
+    @Value("${datasource.replica.max-lag}")
+    private long replicaMaxLag;
+    @Value("${datasource.replica.check-interval}")
+    private long replicaCheckInterval;
+
+    // spring.datasource.type picks the implementation, HikariCP unless set otherwise
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public DataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().build();
+    }
+
+    // replicas are of the primary type, replica pools are sized and tuned like the primary one,
+    // their metrics are bound with the routing ones, a registry here would depend on this data source in turn
+    @Bean
+    public ReplicaRoutingDataSource routingDataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource) {
+        var replicas = new LinkedHashMap<String, DataSource>();
+        for (var i = 0; i < replicaUrls.size(); i++) {
+            var name = "replica-" + i;
+            replicas.put(name, createReplica(primaryDataSource, name, replicaUrls.get(i)));
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, replicaMaxLag, replicaCheckInterval);
+    }
+
+    // the target is chosen on the first statement, after the transaction has marked itself read-only,
+    // statistics wrap the routing data source, so connection time is the time of taking one from the pool,
+    // statements are always timed for the slow query log, request statistics and the result set proxies
+    // that count rows for them are kept while ServerTimingFilter is enabled only
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource routingDataSource, SlowQueryLogService slowQueryLogService) {
+        return new LazyConnectionDataSourceProxy(new SqlStatisticsDataSource(routingDataSource, slowQueryLogService));
+    }
+
+    private DataSource createReplica(DataSource primaryDataSource, String name, String url) {
+        if (!(primaryDataSource instanceof HikariDataSource)) {
+            return DataSourceBuilder.create()
+                    .type(primaryDataSource.getClass())
+                    .url(url)
+                    .username(replicaUsername)
+                    .password(replicaPassword)
+                    .build();
+        }
+        var primaryPool = (HikariDataSource) primaryDataSource;
+        var replica = new HikariDataSource();
+        primaryPool.copyStateTo(replica);
+        replica.setPoolName(primaryPool.getPoolName() + "-" + name);
+        replica.setJdbcUrl(url);
+        replica.setUsername(replicaUsername);
+        replica.setPassword(replicaPassword);
+        replica.setReadOnly(true);
+        return replica;
+    }
+}
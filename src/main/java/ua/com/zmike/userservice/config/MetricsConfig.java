@@ -0,0 +1,65 @@
+package ua.com.zmike.userservice.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.boot.actuate.metrics.web.servlet.WebMvcTagsContributor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.HandlerMethod;
+import ua.com.zmike.userservice.filter.RequestAllocationFilter;
+import ua.com.zmike.userservice.filter.ServerTimingFilter;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.lang.management.ManagementFactory;
+
+@Configuration
+public class MetricsConfig {
+
+    // timers of @Timed classes, tagged by class and method
+    public static final String SERVICE_INVOCATIONS = "service.invocations";
+    public static final String REPOSITORY_INVOCATIONS = "repository.invocations";
+    public static final String ERRORS = "errors";
+
+    private static final String HANDLER_TAG = "handler";
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "datasource.server-timing.enabled", havingValue = "true")
+    public ServerTimingFilter serverTimingFilter() {
+        return new ServerTimingFilter();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "request-allocation.enabled", havingValue = "true")
+    public RequestAllocationFilter requestAllocationFilter(MeterRegistry meterRegistry) {
+        return new RequestAllocationFilter(ManagementFactory.getThreadMXBean(), meterRegistry);
+    }
+
+    // several controller methods share one uri and differ by params only, the handler tag tells them apart
+    @Bean
+    public WebMvcTagsContributor handlerTagsContributor() {
+        return new WebMvcTagsContributor() {
+
+            @Override
+            public Iterable<Tag> getTags(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                         Throwable exception) {
+                return Tags.of(HANDLER_TAG, handler instanceof HandlerMethod
+                        ? ((HandlerMethod) handler).getMethod().getName()
+                        : "none");
+            }
+
+            @Override
+            public Iterable<Tag> getLongRequestTags(HttpServletRequest request, Object handler) {
+                return Tags.empty();
+            }
+        };
+    }
+}
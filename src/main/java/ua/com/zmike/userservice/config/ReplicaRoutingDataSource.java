@@ -0,0 +1,186 @@
+package ua.com.zmike.userservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// read-only transactions go to a replica that keeps up with the primary, everything else goes to the primary
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource
+        implements SmartLifecycle, DisposableBean, MeterBinder {
+
+    public static final String PRIMARY = "primary";
+
+    // zero when the replica has replayed all it received, otherwise the age of the last replayed transaction
+    private static final String REPLICATION_LAG_SQL = "SELECT CASE WHEN NOT pg_is_in_recovery() "
+            + "OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE extract(epoch FROM now() - pg_last_xact_replay_timestamp()) * 1000 END";
+
+    private final Map<String, DataSource> replicas;
+    private final long maxLag;
+    private final long checkInterval;
+    private final Map<String, Double> lags = new ConcurrentHashMap<>();
+    private final Map<String, Counter> connections = new ConcurrentHashMap<>();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    private volatile List<String> availableReplicas = List.of();
+    private volatile boolean running;
+    private ScheduledExecutorService checker;
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, long maxLag, long checkInterval) {
+        this.replicas = replicas;
+        this.maxLag = maxLag;
+        this.checkInterval = checkInterval;
+        var targets = new HashMap<Object, Object>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        replicas.keySet().forEach(replica -> lags.put(replica, Double.NaN));
+    }
+
+    // bound by the registry once it is created, the registry itself binds pool metrics of every data source bean
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        connections.put(PRIMARY, connectionCounter(PRIMARY, meterRegistry));
+        replicas.forEach((replica, dataSource) -> {
+            connections.put(replica, connectionCounter(replica, meterRegistry));
+            if (dataSource instanceof HikariDataSource) {
+                ((HikariDataSource) dataSource).setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            }
+            Gauge.builder("datasource.replica.lag", lags, values -> values.get(replica))
+                    .description("Replication lag of the replica, NaN when it can't be checked")
+                    .baseUnit("milliseconds")
+                    .tag("replica", replica)
+                    .register(meterRegistry);
+            Gauge.builder("datasource.replica.available", this, routing -> routing.availableReplicas.contains(replica) ? 1 : 0)
+                    .description("1 when read-only transactions are routed to the replica")
+                    .tag("replica", replica)
+                    .register(meterRegistry);
+        });
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return countConnection(TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? selectReplica() : PRIMARY);
+    }
+
+    // read-only connection for work done outside of transactions, from a replica that keeps up when there is one
+    public Connection getReadOnlyConnection() throws SQLException {
+        var target = countConnection(selectReplica());
+        var connection = PRIMARY.equals(target)
+                ? getResolvedDefaultDataSource().getConnection()
+                : replicas.get(target).getConnection();
+        connection.setReadOnly(true);
+        return connection;
+    }
+
+    private String countConnection(String target) {
+        var counter = connections.get(target);
+        if (counter != null) {
+            counter.increment();
+        }
+        return target;
+    }
+
+    private static Counter connectionCounter(String target, MeterRegistry meterRegistry) {
+        return Counter.builder("datasource.routing.connections")
+                .description("Connections obtained through the routing data source")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+
+    // replicas lagging more than max-lag, or not answering, are skipped until they catch up
+    public void checkReplicas() {
+        var available = new ArrayList<String>();
+        replicas.forEach((replica, dataSource) -> {
+            var lag = getLag(replica, dataSource);
+            lags.put(replica, lag);
+            if (lag <= maxLag) {
+                available.add(replica);
+            } else if (availableReplicas.contains(replica)) {
+                log.warn("Replica '{}' is lagging {} ms, reads fall back to other replicas or the primary", replica, lag);
+            }
+        });
+        availableReplicas = List.copyOf(available);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        if (replicas.isEmpty()) {
+            return;
+        }
+        checker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "replica-lag-checker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        checker.scheduleWithFixedDelay(this::checkReplicas, 0, checkInterval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (checker != null) {
+            checker.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // replica pools are owned by the routing data source, the primary one is a bean of its own
+    @Override
+    public void destroy() throws Exception {
+        for (var dataSource : replicas.values()) {
+            if (dataSource instanceof AutoCloseable) {
+                ((AutoCloseable) dataSource).close();
+            }
+        }
+    }
+
+    private String selectReplica() {
+        var available = availableReplicas;
+        if (available.isEmpty()) {
+            return PRIMARY;
+        }
+        return available.get(Math.floorMod(nextReplica.getAndIncrement(), available.size()));
+    }
+
+    private double getLag(String replica, DataSource dataSource) {
+        try (var connection = dataSource.getConnection();
+             var statement = connection.createStatement();
+             var resultSet = statement.executeQuery(REPLICATION_LAG_SQL)) {
+            resultSet.next();
+            return resultSet.getDouble(1);
+        } catch (SQLException e) {
+            if (availableReplicas.contains(replica)) {
+                log.warn("Replica '{}' is not available, reads fall back to other replicas or the primary", replica, e);
+            }
+            return Double.NaN;
+        }
+    }
+}
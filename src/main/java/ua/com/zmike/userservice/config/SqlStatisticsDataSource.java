@@ -0,0 +1,149 @@
+package ua.com.zmike.userservice.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import ua.com.zmike.userservice.service.SlowQueryLogService;
+import ua.com.zmike.userservice.util.SqlStatistics;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// proxies connections and statements to pass every executed statement with its parameters to the slow query log,
+// result sets are proxied only while SqlStatistics of the current request are kept, rows are counted for them
+public class SqlStatisticsDataSource extends DelegatingDataSource {
+
+    private static final Set<String> STATEMENT_FACTORY_METHODS = Set.of("createStatement", "prepareStatement", "prepareCall");
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+    private static final Set<String> RESULT_SET_METHODS = Set.of("executeQuery", "getResultSet", "getGeneratedKeys");
+
+    private final SlowQueryLogService slowQueryLogService;
+
+    public SqlStatisticsDataSource(DataSource targetDataSource, SlowQueryLogService slowQueryLogService) {
+        super(targetDataSource);
+        this.slowQueryLogService = slowQueryLogService;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        var start = System.nanoTime();
+        var connection = super.getConnection();
+        var elapsed = System.nanoTime() - start;
+        SqlStatistics.current().ifPresent(statistics -> statistics.addConnection(elapsed));
+        return wrapConnection(connection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        var start = System.nanoTime();
+        var connection = super.getConnection(username, password);
+        var elapsed = System.nanoTime() - start;
+        SqlStatistics.current().ifPresent(statistics -> statistics.addConnection(elapsed));
+        return wrapConnection(connection);
+    }
+
+    private Connection wrapConnection(Connection connection) {
+        return proxy(Connection.class, connection, (proxy, method, args) -> {
+            var result = invoke(connection, method, args);
+            if (!STATEMENT_FACTORY_METHODS.contains(method.getName())) {
+                return result;
+            }
+            // prepared statements get their SQL here, plain statements on execute
+            var sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+            return wrapStatement(method.getReturnType(), (Statement) result, (Connection) proxy, sql);
+        });
+    }
+
+    private <T> T wrapStatement(Class<T> type, Statement statement, Connection connection, String preparedSql) {
+        Map<Integer, Object> parameters = new TreeMap<>();
+        var batchSize = new AtomicInteger();
+        return proxy(type, statement, (proxy, method, args) -> {
+            var name = method.getName();
+            if ("getConnection".equals(name)) {
+                return connection;
+            }
+            if ("clearParameters".equals(name)) {
+                parameters.clear();
+            } else if ("addBatch".equals(name)) {
+                // a batch is logged by its size, the binds of its last row would misrepresent it
+                parameters.clear();
+                batchSize.incrementAndGet();
+            } else if ("clearBatch".equals(name)) {
+                parameters.clear();
+                batchSize.set(0);
+            } else if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                parameters.put((Integer) args[0], "setNull".equals(name) ? null : args[1]);
+            }
+            Object result;
+            if (EXECUTE_METHODS.contains(name)) {
+                var sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : preparedSql;
+                var batch = name.endsWith("Batch") ? batchSize.getAndSet(0) : 0;
+                var start = System.nanoTime();
+                try {
+                    result = invoke(statement, method, args);
+                } finally {
+                    var elapsed = System.nanoTime() - start;
+                    SqlStatistics.current().ifPresent(statistics -> statistics.addStatement(elapsed));
+                    slowQueryLogService.record(sql, () -> new ArrayList<>(parameters.values()), batch, elapsed);
+                    parameters.clear();
+                }
+            } else {
+                result = invoke(statement, method, args);
+            }
+            // rows are counted for ServerTiming only, other requests read columns without a proxy in between
+            return result != null && RESULT_SET_METHODS.contains(name) && SqlStatistics.current().isPresent()
+                    ? wrapResultSet((ResultSet) result)
+                    : result;
+        });
+    }
+
+    private static ResultSet wrapResultSet(ResultSet resultSet) {
+        return proxy(ResultSet.class, resultSet, (proxy, method, args) -> {
+            if (!"next".equals(method.getName())) {
+                return invoke(resultSet, method, args);
+            }
+            var start = System.nanoTime();
+            var rowFetched = (Boolean) invoke(resultSet, method, args);
+            var elapsed = System.nanoTime() - start;
+            SqlStatistics.current().ifPresent(statistics -> statistics.addRowFetch(elapsed, rowFetched));
+            return rowFetched;
+        });
+    }
+
+    // equals and hashCode answer for the proxy itself, pools and caches compare connections by identity
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Object target, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(SqlStatisticsDataSource.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "toString":
+                            return "SqlStatistics proxy for " + target;
+                        default:
+                            return handler.invoke(proxy, method, args);
+                    }
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package ua.com.zmike.userservice.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,12 +18,24 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ua.com.zmike.userservice.dto.AddressDto;
+import ua.com.zmike.userservice.dto.BatchItemResultDto;
+import ua.com.zmike.userservice.dto.PageDto;
 import ua.com.zmike.userservice.dto.UserDto;
+import ua.com.zmike.userservice.dto.UsersByIdsDto;
+import ua.com.zmike.userservice.dto.UserSearchCriteria;
+import ua.com.zmike.userservice.service.UserBatchService;
 import ua.com.zmike.userservice.service.UserService;
+import ua.com.zmike.userservice.util.SingleFlight;
+import ua.com.zmike.userservice.util.ValidationUtil;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
+import java.time.MonthDay;
 import java.util.Collection;
+import java.util.List;
 
 @Slf4j
 @RestController
@@ -30,34 +45,138 @@ import java.util.Collection;
 public class UserController implements UserControllerContract {
 
     private final UserService userService;
+    private final UserBatchService userBatchService;
+    private final ObjectMapper objectMapper;
+    // outside of the service, so waiting requests hold neither a transaction nor a connection
+    private final SingleFlight<Long, UserDto> userLookupSingleFlight;
 
     @GetMapping
     public Collection<UserDto> getAllUsersByBirthDateRange(@RequestParam(value = "from") LocalDate from,
                                                            @RequestParam(value = "to") LocalDate to) {
-        log.info("Get all Users with birth date between {} and {}", from, to);
+        log.debug("Get all Users with birth date between {} and {}", from, to);
         return userService.getAllByBirthDateRange(from, to);
     }
 
+    @Override
+    @GetMapping(params = {"from", "to", "limit"})
+    public PageDto<UserDto> getUsersPageByBirthDateRange(@RequestParam(value = "from") LocalDate from,
+                                                         @RequestParam(value = "to") LocalDate to,
+                                                         @RequestParam(value = "limit") Integer limit,
+                                                         @RequestParam(value = "next", required = false) String next) {
+        log.debug("Get page of Users with birth date between {} and {}, limit: {}, next: {}", from, to, limit, next);
+        return userService.getPageByBirthDateRange(from, to, limit, next);
+    }
+
+    @Override
+    @GetMapping("/search")
+    public PageDto<UserDto> searchUsers(@RequestParam(value = "country", required = false) String country,
+                                        @RequestParam(value = "city", required = false) String city,
+                                        @RequestParam(value = "zipcode", required = false) Integer zipcode,
+                                        @RequestParam(value = "lastName", required = false) String lastName,
+                                        @RequestParam(value = "emailDomain", required = false) String emailDomain,
+                                        @RequestParam(value = "from", required = false) LocalDate from,
+                                        @RequestParam(value = "to", required = false) LocalDate to,
+                                        @RequestParam(value = "limit") Integer limit,
+                                        @RequestParam(value = "next", required = false) String next) {
+        var criteria = UserSearchCriteria.builder()
+                .country(country)
+                .city(city)
+                .zipcode(zipcode)
+                .lastNamePrefix(lastName)
+                .emailDomain(emailDomain)
+                .birthDateFrom(from)
+                .birthDateTo(to)
+                .build();
+        log.debug("Search page of Users by {}, limit: {}, next: {}", criteria, limit, next);
+        return userService.search(criteria, limit, next);
+    }
+
+    @Override
+    @GetMapping(value = "/search", params = "q")
+    public List<UserDto> searchUsersByText(@RequestParam(value = "q") String q,
+                                           @RequestParam(value = "limit", defaultValue = "20") Integer limit) {
+        log.debug("Search Users by text: {}, limit: {}", q, limit);
+        return userService.searchByText(q, limit);
+    }
+
+    @Override
+    @GetMapping(params = {"limit", "!from", "!to", "!ids"})
+    public PageDto<UserDto> getUsersPageByAgeRange(@RequestParam(value = "minAge", defaultValue = "0") Integer minAge,
+                                                   @RequestParam(value = "maxAge", defaultValue = "150") Integer maxAge,
+                                                   @RequestParam(value = "limit") Integer limit,
+                                                   @RequestParam(value = "next", required = false) String next) {
+        log.debug("Get page of Users with age between {} and {}, limit: {}, next: {}", minAge, maxAge, limit, next);
+        return userService.getPageByAgeRange(minAge, maxAge, limit, next);
+    }
+
+    @Override
+    @GetMapping("/birthdays")
+    public PageDto<UserDto> getUsersPageByBirthdayRange(@RequestParam(value = "from") MonthDay from,
+                                                        @RequestParam(value = "to") MonthDay to,
+                                                        @RequestParam(value = "limit") Integer limit,
+                                                        @RequestParam(value = "next", required = false) String next) {
+        log.debug("Get page of Users with birthday between {} and {}, limit: {}, next: {}", from, to, limit, next);
+        return userService.getPageByBirthdayRange(from, to, limit, next);
+    }
+
+    @Override
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportUsersByBirthDateRange(@RequestParam(value = "from") LocalDate from,
+                                                                             @RequestParam(value = "to") LocalDate to) {
+        log.debug("Export all Users with birth date between {} and {}", from, to);
+        ValidationUtil.validateDateRange(from, to);
+        StreamingResponseBody body = outputStream -> {
+            try (var generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.setRootValueSeparator(null);
+                userService.exportAllByBirthDateRange(from, to, userDto -> {
+                    try {
+                        objectMapper.writeValue(generator, userDto);
+                        generator.writeRaw('\n');
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @Override
     @GetMapping("/{id}")
     public UserDto getUserById(@PathVariable("id") Long id) {
-        log.info("Get User by id: {}", id);
-        return userService.getOneById(id);
+        log.debug("Get User by id: {}", id);
+        return userLookupSingleFlight.execute(id, () -> userService.getOneById(id));
+    }
+
+    @Override
+    @GetMapping(params = "ids")
+    public UsersByIdsDto getUsersByIds(@RequestParam(value = "ids") List<Long> ids) {
+        log.debug("Get Users by ids: {}", ids);
+        return userService.getAllByIds(ids);
     }
 
     @Override
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public UserDto createUsers(@RequestBody UserDto user) {
-        log.info("Add User with params: {}", user);
+        log.debug("Add User with params: {}", user);
         return userService.addOne(user);
     }
 
+    @Override
+    @PostMapping("/batch")
+    public List<BatchItemResultDto> createUsersBatch(@RequestBody List<UserDto> users) {
+        log.debug("Add batch of {} Users", users.size());
+        return userBatchService.addAll(users);
+    }
+
     @Override
     @PutMapping("/{id}")
     public UserDto updateUsers(@PathVariable("id") Long id,
                                @RequestBody UserDto user) {
-        log.info("Update User by id: {} for params: {}", id, user);
+        log.debug("Update User by id: {} for params: {}", id, user);
         return userService.updateOne(id, user);
     }
 
@@ -65,14 +184,14 @@ public class UserController implements UserControllerContract {
     @PatchMapping("/{id}")
     public UserDto updateUserAddress(@PathVariable Long id,
                                      @RequestBody AddressDto address) {
-        log.info("Update User by id: {}. Set new Address: {} ", id, address);
+        log.debug("Update User by id: {}. Set new Address: {} ", id, address);
         return userService.updateAddress(id, address);
     }
 
     @Override
     @DeleteMapping("/{id}")
     public void deleteUsers(@PathVariable("id") Long id) {
-        log.info("Delete User by id: {}", id);
+        log.debug("Delete User by id: {}", id);
         userService.deleteOneById(id);
     }
 }
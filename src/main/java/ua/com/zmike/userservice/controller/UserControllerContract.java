@@ -5,18 +5,31 @@ import io.swagger.annotations.ApiParam;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 import io.swagger.v3.oas.annotations.Parameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ua.com.zmike.userservice.dto.AddressDto;
+import ua.com.zmike.userservice.dto.BatchItemResultDto;
+import ua.com.zmike.userservice.dto.PageDto;
 import ua.com.zmike.userservice.dto.UserDto;
+import ua.com.zmike.userservice.dto.UsersByIdsDto;
 import ua.com.zmike.userservice.exception.ApplicationConstraintViolationException;
 import ua.com.zmike.userservice.exception.GenericException;
 import ua.com.zmike.userservice.exception.TargetNotFoundException;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
 import java.time.LocalDate;
+import java.time.MonthDay;
 import java.util.Collection;
+import java.util.List;
 
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
 
 public interface UserControllerContract {
 
@@ -47,6 +60,171 @@ public interface UserControllerContract {
                     name = "to", value = "Searching birth date  'to'. Format: yyyy-mm-dd", example = "2022-02-22",
                     required = true) @NotNull LocalDate to);
 
+    @ApiOperation(
+            value = "Get one page of Users with birth date between entered dates, ordered by birth date",
+            response = PageDto.class,
+            produces = APPLICATION_JSON_VALUE,
+            httpMethod = "GET")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    code = 200, message = "Page of users by birth date range successfully found.",
+                    response = PageDto.class),
+            @ApiResponse(
+                    code = 400, message = "Bad Request. Custom error code will be provided",
+                    response = ApplicationConstraintViolationException.class),
+            @ApiResponse(
+                    code = 500, message = "Server error. Something wrong happened!",
+                    response = GenericException.class)})
+    PageDto<UserDto> getUsersPageByBirthDateRange(
+            @ApiParam(
+                    name = "from", value = "Searching birth date 'from'. Format: yyyy-mm-dd", example = "2022-02-22",
+                    required = true) @NotNull LocalDate from,
+            @ApiParam(
+                    name = "to", value = "Searching birth date  'to'. Format: yyyy-mm-dd", example = "2022-02-22",
+                    required = true) @NotNull LocalDate to,
+            @ApiParam(
+                    name = "limit", value = "Max count of users on the page", example = "100",
+                    required = true) @NotNull @Min(1) @Max(1000) Integer limit,
+            @ApiParam(
+                    name = "next", value = "Cursor from the previous page. Absent for the first page") String next);
+
+    @ApiOperation(
+            value = "Search Users by any combination of criteria, ordered by id",
+            notes = "Country and city are matched ignoring case, last name by prefix, email by domain",
+            response = PageDto.class,
+            produces = APPLICATION_JSON_VALUE,
+            httpMethod = "GET")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    code = 200, message = "Page of found users.",
+                    response = PageDto.class),
+            @ApiResponse(
+                    code = 400, message = "Bad Request. Custom error code will be provided",
+                    response = ApplicationConstraintViolationException.class),
+            @ApiResponse(
+                    code = 500, message = "Server error. Something wrong happened!",
+                    response = GenericException.class)})
+    PageDto<UserDto> searchUsers(
+            @ApiParam(name = "country", value = "Country of the address", example = "Ukraine") String country,
+            @ApiParam(name = "city", value = "City of the address", example = "Kyiv") String city,
+            @ApiParam(name = "zipcode", value = "Zipcode of the address", example = "1001") Integer zipcode,
+            @ApiParam(name = "lastName", value = "Last name prefix", example = "Jon") String lastName,
+            @ApiParam(name = "emailDomain", value = "Email domain", example = "gmail.com") String emailDomain,
+            @ApiParam(
+                    name = "from", value = "Searching birth date 'from'. Format: yyyy-mm-dd", example = "2000-01-01")
+            LocalDate from,
+            @ApiParam(
+                    name = "to", value = "Searching birth date 'to'. Format: yyyy-mm-dd", example = "2005-01-01")
+            LocalDate to,
+            @ApiParam(
+                    name = "limit", value = "Max count of users on the page", example = "100",
+                    required = true) @NotNull @Min(1) @Max(1000) Integer limit,
+            @ApiParam(
+                    name = "next", value = "Cursor from the previous page. Absent for the first page") String next);
+
+    @ApiOperation(
+            value = "Search Users whose first name, last name or email contains the text, the best matching first",
+            response = UserDto.class,
+            responseContainer = "List",
+            produces = APPLICATION_JSON_VALUE,
+            httpMethod = "GET")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    code = 200, message = "Found users, ranked by similarity to the text.",
+                    response = UserDto.class),
+            @ApiResponse(
+                    code = 400, message = "Bad Request. Custom error code will be provided",
+                    response = ApplicationConstraintViolationException.class),
+            @ApiResponse(
+                    code = 500, message = "Server error. Something wrong happened!",
+                    response = GenericException.class)})
+    List<UserDto> searchUsersByText(
+            @ApiParam(
+                    name = "q", value = "Part of first name, last name or email, at least 3 symbols", example = "jons",
+                    required = true) @NotBlank @Size(min = 3, max = 100) String q,
+            @ApiParam(
+                    name = "limit", value = "Max count of users", example = "20",
+                    required = true) @NotNull @Min(1) @Max(100) Integer limit);
+
+    @ApiOperation(
+            value = "Get one page of Users with age between entered ages, ordered by birth date",
+            response = PageDto.class,
+            produces = APPLICATION_JSON_VALUE,
+            httpMethod = "GET")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    code = 200, message = "Page of users by age range successfully found.",
+                    response = PageDto.class),
+            @ApiResponse(
+                    code = 400, message = "Bad Request. Custom error code will be provided",
+                    response = ApplicationConstraintViolationException.class),
+            @ApiResponse(
+                    code = 500, message = "Server error. Something wrong happened!",
+                    response = GenericException.class)})
+    PageDto<UserDto> getUsersPageByAgeRange(
+            @ApiParam(
+                    name = "minAge", value = "Min age in full years", example = "18") @NotNull @Min(0) @Max(150) Integer minAge,
+            @ApiParam(
+                    name = "maxAge", value = "Max age in full years", example = "30") @NotNull @Min(0) @Max(150) Integer maxAge,
+            @ApiParam(
+                    name = "limit", value = "Max count of users on the page", example = "100",
+                    required = true) @NotNull @Min(1) @Max(1000) Integer limit,
+            @ApiParam(
+                    name = "next", value = "Cursor from the previous page. Absent for the first page") String next);
+
+    @ApiOperation(
+            value = "Get one page of Users whose birthday, regardless of year, is between entered days",
+            notes = "'from' after 'to' wraps over the year end, users are returned from 'from' onwards. "
+                    + "In common years users born on February 29 are included with March 1",
+            response = PageDto.class,
+            produces = APPLICATION_JSON_VALUE,
+            httpMethod = "GET")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    code = 200, message = "Page of users by birthday range successfully found.",
+                    response = PageDto.class),
+            @ApiResponse(
+                    code = 400, message = "Bad Request. Custom error code will be provided",
+                    response = ApplicationConstraintViolationException.class),
+            @ApiResponse(
+                    code = 500, message = "Server error. Something wrong happened!",
+                    response = GenericException.class)})
+    PageDto<UserDto> getUsersPageByBirthdayRange(
+            @ApiParam(
+                    name = "from", value = "First birthday of the range. Format: MM-dd", example = "12-30",
+                    required = true) @NotNull MonthDay from,
+            @ApiParam(
+                    name = "to", value = "Last birthday of the range. Format: MM-dd", example = "01-05",
+                    required = true) @NotNull MonthDay to,
+            @ApiParam(
+                    name = "limit", value = "Max count of users on the page", example = "100",
+                    required = true) @NotNull @Min(1) @Max(1000) Integer limit,
+            @ApiParam(
+                    name = "next", value = "Cursor from the previous page. Absent for the first page") String next);
+
+    @ApiOperation(
+            value = "Export all Users with birth date between entered dates as newline delimited JSON",
+            response = UserDto.class,
+            produces = APPLICATION_NDJSON_VALUE,
+            httpMethod = "GET")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    code = 200, message = "Users are streamed one JSON document per line.",
+                    response = UserDto.class),
+            @ApiResponse(
+                    code = 400, message = "Bad Request. Custom error code will be provided",
+                    response = ApplicationConstraintViolationException.class),
+            @ApiResponse(
+                    code = 500, message = "Server error. Something wrong happened!",
+                    response = GenericException.class)})
+    ResponseEntity<StreamingResponseBody> exportUsersByBirthDateRange(
+            @ApiParam(
+                    name = "from", value = "Searching birth date 'from'. Format: yyyy-mm-dd", example = "2022-02-22",
+                    required = true) @NotNull LocalDate from,
+            @ApiParam(
+                    name = "to", value = "Searching birth date  'to'. Format: yyyy-mm-dd", example = "2022-02-22",
+                    required = true) @NotNull LocalDate to);
+
     @ApiOperation(
             value = "Get one user by ID",
             response = UserDto.class,
@@ -68,6 +246,25 @@ public interface UserControllerContract {
     UserDto getUserById(
             @ApiParam(name = "id", defaultValue = "1", value = "User id", example = "1") @NotNull Long id);
 
+    @ApiOperation(
+            value = "Get many users by IDs in one request",
+            response = UsersByIdsDto.class,
+            produces = APPLICATION_JSON_VALUE,
+            httpMethod = "GET")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    code = 200, message = "Found users in the order of the ids, ids without a user are listed as missing.",
+                    response = UsersByIdsDto.class),
+            @ApiResponse(
+                    code = 400, message = "Bad Request. Custom error code will be provided",
+                    response = ApplicationConstraintViolationException.class),
+            @ApiResponse(
+                    code = 500, message = "Server error. Something wrong happened!",
+                    response = GenericException.class)})
+    UsersByIdsDto getUsersByIds(
+            @ApiParam(name = "ids", value = "Comma separated user ids, at most 500", example = "1,2,3",
+                    required = true) @NotEmpty @Size(max = 500) List<@NotNull Long> ids);
+
     @ApiOperation(
             value = "Create one user by data from request",
             response = UserDto.class,
@@ -87,6 +284,27 @@ public interface UserControllerContract {
     UserDto createUsers(
             @Parameter(description = "User DTO for create", required = true) @Valid @NotNull UserDto user);
 
+    @ApiOperation(
+            value = "Create batch of users, every user gets its own result",
+            response = BatchItemResultDto.class,
+            responseContainer = "List",
+            consumes = APPLICATION_JSON_VALUE,
+            produces = APPLICATION_JSON_VALUE,
+            httpMethod = "POST")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    code = 200, message = "Batch processed. Result status: CREATED, INVALID or DUPLICATE.",
+                    response = BatchItemResultDto.class),
+            @ApiResponse(
+                    code = 400, message = "Bad Request. Custom error code will be provided",
+                    response = ApplicationConstraintViolationException.class),
+            @ApiResponse(
+                    code = 500, message = "Server error. Something wrong happened!",
+                    response = GenericException.class)})
+    List<BatchItemResultDto> createUsersBatch(
+            @Parameter(description = "User DTOs for create", required = true)
+            @NotEmpty @Size(max = 10000) List<UserDto> users);
+
     @ApiOperation(
             value = "Update one user by id by DTO",
             response = UserDto.class,
@@ -0,0 +1,19 @@
+package ua.com.zmike.userservice.converter.impl;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+import java.time.MonthDay;
+import java.time.format.DateTimeFormatter;
+
+// request parameters in MM-dd format, the default MonthDay format is --MM-dd
+@Component
+public class MonthDayConverter implements Converter<String, MonthDay> {
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("MM-dd");
+
+    @Override
+    public MonthDay convert(String source) {
+        return MonthDay.parse(source, FORMATTER);
+    }
+}
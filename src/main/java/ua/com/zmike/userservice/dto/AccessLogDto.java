@@ -0,0 +1,26 @@
+package ua.com.zmike.userservice.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@Builder
+public class AccessLogDto {
+
+    private Instant timestamp;
+
+    private String method;
+
+    private String uri;
+
+    // values of masked parameters are replaced by '***'
+    private String query;
+
+    private String handler;
+
+    private int status;
+
+    private double durationMillis;
+}
@@ -0,0 +1,30 @@
+package ua.com.zmike.userservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@ApiModel(value = "BatchItemResult", description = "Result of one User from the batch")
+public class BatchItemResultDto {
+
+    @ApiModelProperty(notes = "Position of the User in the incoming batch", example = "0")
+    private int index;
+
+    @ApiModelProperty(example = "CREATED")
+    private Status status;
+
+    @ApiModelProperty(notes = "Id of the created User", example = "1")
+    private Long id;
+
+    @ApiModelProperty(notes = "Reason why the User was not created")
+    private String message;
+
+    public enum Status {
+        CREATED, INVALID, DUPLICATE
+    }
+}
@@ -0,0 +1,19 @@
+package ua.com.zmike.userservice.dto;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+@ApiModel(value = "Page", description = "One page of a keyset paginated result")
+public class PageDto<T> {
+
+    private List<T> content;
+
+    @ApiModelProperty(notes = "Opaque cursor of the next page. Absent on the last page")
+    private String next;
+}
@@ -0,0 +1,20 @@
+package ua.com.zmike.userservice.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class SlowQueryDto {
+
+    // literals and parameter lists are replaced by '?', so executions with different values share one entry
+    private String sql;
+
+    private long count;
+
+    private double totalMillis;
+
+    private double meanMillis;
+
+    private double maxMillis;
+}
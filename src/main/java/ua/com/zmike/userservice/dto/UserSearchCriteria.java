@@ -0,0 +1,26 @@
+package ua.com.zmike.userservice.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+// every criterion is optional, present ones are combined with AND
+@Data
+@Builder
+public class UserSearchCriteria {
+
+    private String country;
+
+    private String city;
+
+    private Integer zipcode;
+
+    private String lastNamePrefix;
+
+    private String emailDomain;
+
+    private LocalDate birthDateFrom;
+
+    private LocalDate birthDateTo;
+}
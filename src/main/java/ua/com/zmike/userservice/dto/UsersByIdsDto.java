@@ -0,0 +1,20 @@
+package ua.com.zmike.userservice.dto;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+@ApiModel(value = "UsersByIds", description = "Users found by the requested ids")
+public class UsersByIdsDto {
+
+    @ApiModelProperty(notes = "Found users in the order of the requested ids")
+    private List<UserDto> users;
+
+    @ApiModelProperty(notes = "Requested ids without a user")
+    private List<Long> missingIds;
+}
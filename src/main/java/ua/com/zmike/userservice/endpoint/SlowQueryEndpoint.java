@@ -0,0 +1,32 @@
+package ua.com.zmike.userservice.endpoint;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+import ua.com.zmike.userservice.dto.SlowQueryDto;
+import ua.com.zmike.userservice.service.SlowQueryLogService;
+
+import java.util.List;
+
+// statements over the slow query threshold, the most time consuming first
+@Component
+@Endpoint(id = "slowqueries")
+@RequiredArgsConstructor
+public class SlowQueryEndpoint {
+
+    private static final int TOP = 50;
+
+    private final SlowQueryLogService slowQueryLogService;
+
+    @ReadOperation
+    public List<SlowQueryDto> slowQueries() {
+        return slowQueryLogService.getTop(TOP);
+    }
+
+    @DeleteOperation
+    public void reset() {
+        slowQueryLogService.reset();
+    }
+}
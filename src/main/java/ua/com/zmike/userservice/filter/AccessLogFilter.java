@@ -0,0 +1,84 @@
+package ua.com.zmike.userservice.filter;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import ua.com.zmike.userservice.dto.AccessLogDto;
+import ua.com.zmike.userservice.service.AccessLogService;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ThreadLocalRandom;
+
+// one structured access log entry per sampled request, bodies are never logged,
+// server errors are logged whatever the sample rate
+@RequiredArgsConstructor
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    static final String MASK = "***";
+    private static final double NANOS_PER_MILLI = 1_000_000d;
+
+    private final AccessLogService accessLogService;
+    private final double sampleRate;
+    // sample rates by handler method name, e.g. getUserById
+    private final Map<String, Double> handlerSampleRates;
+    private final Set<String> maskedParameters;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        var start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } catch (ServletException | IOException | RuntimeException | Error e) {
+            // the container sets the 500 only after the exception has left the filter
+            log(request, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, start);
+            throw e;
+        }
+        log(request, response.getStatus(), start);
+    }
+
+    private void log(HttpServletRequest request, int status, long start) {
+        var elapsed = System.nanoTime() - start;
+        var handler = getHandler(request);
+        var rate = handlerSampleRates.getOrDefault(handler, sampleRate);
+        if (status >= 500 || ThreadLocalRandom.current().nextDouble() < rate) {
+            accessLogService.offer(AccessLogDto.builder()
+                    .timestamp(Instant.now())
+                    .method(request.getMethod())
+                    .uri(request.getRequestURI())
+                    .query(mask(request.getQueryString()))
+                    .handler(handler)
+                    .status(status)
+                    .durationMillis(elapsed / NANOS_PER_MILLI)
+                    .build());
+        }
+    }
+
+    private static String getHandler(HttpServletRequest request) {
+        var handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        return handler instanceof HandlerMethod ? ((HandlerMethod) handler).getMethod().getName() : "none";
+    }
+
+    private String mask(String query) {
+        if (query == null || maskedParameters.isEmpty()) {
+            return query;
+        }
+        var masked = new StringJoiner("&");
+        for (var parameter : query.split("&")) {
+            var separator = parameter.indexOf('=');
+            masked.add(separator > 0 && maskedParameters.contains(parameter.substring(0, separator))
+                    ? parameter.substring(0, separator + 1) + MASK
+                    : parameter);
+        }
+        return masked.toString();
+    }
+}
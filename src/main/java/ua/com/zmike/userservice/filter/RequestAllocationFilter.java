@@ -0,0 +1,83 @@
+package ua.com.zmike.userservice.filter;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import ua.com.zmike.userservice.controller.UserController;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.TimeUnit;
+
+// bytes allocated and CPU time spent by the request thread for every UserController request,
+// work of a streaming body after the handler returns runs on another thread and isn't counted
+@Slf4j
+public class RequestAllocationFilter extends OncePerRequestFilter {
+
+    public static final String REQUEST_ALLOCATION = "http.server.requests.allocation";
+    public static final String REQUEST_CPU = "http.server.requests.cpu";
+
+    private final com.sun.management.ThreadMXBean threadMXBean;
+    private final MeterRegistry meterRegistry;
+
+    // HotSpot and OpenJ9 measure allocation and CPU time per thread, on other JVMs requests pass through
+    public RequestAllocationFilter(ThreadMXBean threadMXBean, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) threadMXBean).isThreadAllocatedMemorySupported()
+                && threadMXBean.isCurrentThreadCpuTimeSupported()) {
+            this.threadMXBean = (com.sun.management.ThreadMXBean) threadMXBean;
+            this.threadMXBean.setThreadAllocatedMemoryEnabled(true);
+            this.threadMXBean.setThreadCpuTimeEnabled(true);
+        } else {
+            log.warn("Thread allocation or CPU time isn't measured by this JVM, requests are not instrumented");
+            this.threadMXBean = null;
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return threadMXBean == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        var threadId = Thread.currentThread().getId();
+        var startBytes = threadMXBean.getThreadAllocatedBytes(threadId);
+        var startCpu = threadMXBean.getCurrentThreadCpuTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            var allocated = threadMXBean.getThreadAllocatedBytes(threadId) - startBytes;
+            var cpu = threadMXBean.getCurrentThreadCpuTime() - startCpu;
+            var handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+            if (handler instanceof HandlerMethod && ((HandlerMethod) handler).getBeanType() == UserController.class) {
+                var tags = Tags.of(
+                        "method", request.getMethod(),
+                        "uri", String.valueOf(request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE)),
+                        "handler", ((HandlerMethod) handler).getMethod().getName());
+                DistributionSummary.builder(REQUEST_ALLOCATION)
+                        .description("Bytes allocated by the thread handling the request")
+                        .baseUnit("bytes")
+                        .tags(tags)
+                        .register(meterRegistry)
+                        .record(allocated);
+                Timer.builder(REQUEST_CPU)
+                        .description("CPU time of the thread handling the request")
+                        .tags(tags)
+                        .register(meterRegistry)
+                        .record(cpu, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
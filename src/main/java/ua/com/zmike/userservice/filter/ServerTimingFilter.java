@@ -0,0 +1,76 @@
+package ua.com.zmike.userservice.filter;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import ua.com.zmike.userservice.util.SqlStatistics;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+// JDBC work of every request goes to the Server-Timing header and a log line, see SqlStatisticsDataSource
+@Slf4j
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        var statistics = SqlStatistics.start();
+        var timedResponse = new ServerTimingResponse(response, statistics);
+        try {
+            filterChain.doFilter(request, timedResponse);
+        } finally {
+            SqlStatistics.stop();
+            // responses without a body get the header here, before the container commits them
+            timedResponse.addServerTiming();
+            log.info("SQL statistics: method={}, uri={}, status={}, statements={}, rows={}, dbMs={}, connections={}, connectionMs={}",
+                    request.getMethod(), request.getRequestURI(), response.getStatus(), statistics.getStatements(),
+                    statistics.getRows(), statistics.getStatementMillis(), statistics.getConnections(),
+                    statistics.getConnectionMillis());
+        }
+    }
+
+    // the header has to be set before the body is written, all queries of the request have run by then
+    private static class ServerTimingResponse extends HttpServletResponseWrapper {
+
+        private final SqlStatistics statistics;
+        private boolean headerAdded;
+
+        ServerTimingResponse(HttpServletResponse response, SqlStatistics statistics) {
+            super(response);
+            this.statistics = statistics;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addServerTiming();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addServerTiming();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addServerTiming();
+            super.flushBuffer();
+        }
+
+        void addServerTiming() {
+            if (!headerAdded && !isCommitted()) {
+                headerAdded = true;
+                addHeader(SERVER_TIMING_HEADER, statistics.toServerTiming());
+            }
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package ua.com.zmike.userservice.handler;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -21,29 +23,34 @@ import javax.validation.ConstraintViolationException;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+import static ua.com.zmike.userservice.config.MetricsConfig.ERRORS;
+
 @Slf4j(topic = "ExceptionHandler")
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
 
+    private final MeterRegistry meterRegistry;
+
     @ResponseStatus(HttpStatus.NOT_FOUND)
     @ExceptionHandler(TargetNotFoundException.class)
     public ExceptionDto storageException(TargetNotFoundException ex) {
         log.error("Target not found exception, {}", ex.getMessage());
-        return ex.getExceptionDto();
+        return countError(ex.getExceptionDto());
     }
 
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     @ExceptionHandler(GenericException.class)
     public ExceptionDto customExceptionHandler(GenericException ex) {
         log.error("Application exception : {}", ex.getMessage());
-        return ex.getExceptionDto();
+        return countError(ex.getExceptionDto());
     }
 
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     @ExceptionHandler(IncorrectValueException.class)
     public ExceptionDto customExceptionHandler(IncorrectValueException ex) {
         log.error("Incorrect incoming value exception : {}", ex.getMessage());
-        return ex.getExceptionDto();
+        return countError(ex.getExceptionDto());
     }
 
     @ResponseStatus(HttpStatus.BAD_REQUEST)
@@ -54,14 +61,14 @@ public class GlobalExceptionHandler {
     })
     public ExceptionDto parseExceptionsHandler(Exception ex) {
         log.error("Failed to deserialize request {}", ex.getLocalizedMessage(), ex);
-        return new ApplicationConstraintViolationException(ex.getLocalizedMessage()).getExceptionDto();
+        return countError(new ApplicationConstraintViolationException(ex.getLocalizedMessage()).getExceptionDto());
     }
 
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     @ExceptionHandler(value = MissingServletRequestParameterException.class)
     public ExceptionDto parseExceptionsHandler(MissingServletRequestParameterException ex) {
         log.error("Failed to deserialize request parameter {}", ex.getParameterName(), ex);
-        return new ApplicationConstraintViolationException(ex.getLocalizedMessage()).getExceptionDto();
+        return countError(new ApplicationConstraintViolationException(ex.getLocalizedMessage()).getExceptionDto());
     }
 
     @ResponseStatus(HttpStatus.BAD_REQUEST)
@@ -73,7 +80,7 @@ public class GlobalExceptionHandler {
                 .map(fieldError -> String.format("%s: %s, value = %s",
                         fieldError.getField(), fieldError.getDefaultMessage(), fieldError.getRejectedValue()))
                 .orElse(maybeFieldError.toString());
-        return new ApplicationConstraintViolationException(detailedMessage).getExceptionDto();
+        return countError(new ApplicationConstraintViolationException(detailedMessage).getExceptionDto());
     }
 
     @ResponseStatus(HttpStatus.BAD_REQUEST)
@@ -84,13 +91,19 @@ public class GlobalExceptionHandler {
                 .stream()
                 .map(ConstraintViolation::getMessage)
                 .collect(Collectors.joining(", "));
-        return new ApplicationConstraintViolationException(message).getExceptionDto();
+        return countError(new ApplicationConstraintViolationException(message).getExceptionDto());
     }
 
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     @ExceptionHandler(Exception.class)
     public ExceptionDto genericHandler(Exception ex) {
         log.error("Unhandled exception {}, message {}", ex.getClass().getCanonicalName(), ex.getLocalizedMessage(), ex);
-        return new GenericException("Unexpected 500 error: " + ex.getLocalizedMessage()).getExceptionDto();
+        return countError(new GenericException("Unexpected 500 error: " + ex.getLocalizedMessage()).getExceptionDto());
+    }
+
+    // one counter per ExceptionDetails code
+    private ExceptionDto countError(ExceptionDto exceptionDto) {
+        meterRegistry.counter(ERRORS, "code", exceptionDto.getName()).increment();
+        return exceptionDto;
     }
 }
@@ -2,7 +2,12 @@ package ua.com.zmike.userservice.model;
 
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import ua.com.zmike.userservice.config.CacheConfig;
 
+import javax.persistence.Cacheable;
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -10,20 +15,24 @@ import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.OneToMany;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import java.io.Serializable;
-import java.util.Objects;
 import java.util.Set;
 import java.util.StringJoiner;
 
 @Entity
 @Table(name = "address")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfig.ADDRESS_REGION)
 @Getter
 @Setter
 public class Address implements Serializable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "address_id_seq")
+    // allocation size is the sequence INCREMENT BY, see init-db.sql
+    @SequenceGenerator(name = "address_id_seq", sequenceName = "address_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "country", nullable = false)
@@ -44,31 +53,26 @@ public class Address implements Serializable {
     @Column(name = "zipcode", nullable = false)
     private Integer zipcode;
 
+    // computed by the database from the fields above
+    @Column(name = "fingerprint", insertable = false, updatable = false)
+    private String fingerprint;
+
     @OneToMany(mappedBy = "address", cascade = {CascadeType.PERSIST, CascadeType.MERGE, CascadeType.REFRESH})
     private Set<User> users;
 
+    // identity is the id, field values are compared through the fingerprint column in the database
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
+        if (o == null || Hibernate.getClass(this) != Hibernate.getClass(o)) return false;
         Address address = (Address) o;
-        if (!Objects.equals(country, address.country)) return false;
-        if (!Objects.equals(city, address.city)) return false;
-        if (!Objects.equals(street, address.street)) return false;
-        if (!Objects.equals(houseNumber, address.houseNumber)) return false;
-        if (!Objects.equals(apartment, address.apartment)) return false;
-        return Objects.equals(zipcode, address.zipcode);
+        return id != null && id.equals(address.getId());
     }
 
+    // constant, so the hash doesn't change when a new address gets its id
     @Override
     public int hashCode() {
-        int result = country != null ? country.hashCode() : 0;
-        result = 31 * result + (city != null ? city.hashCode() : 0);
-        result = 31 * result + (street != null ? street.hashCode() : 0);
-        result = 31 * result + (houseNumber != null ? houseNumber.hashCode() : 0);
-        result = 31 * result + (apartment != null ? apartment.hashCode() : 0);
-        result = 31 * result + (zipcode != null ? zipcode.hashCode() : 0);
-        return result;
+        return Address.class.hashCode();
     }
 
     @Override
@@ -81,7 +85,6 @@ public class Address implements Serializable {
                 .add("houseNumber='" + houseNumber + "'")
                 .add("apartment=" + apartment)
                 .add("zipcode=" + zipcode)
-                .add("users=" + users)
                 .toString();
     }
 }
@@ -2,19 +2,21 @@ package ua.com.zmike.userservice.model;
 
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.Hibernate;
 
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import java.io.Serializable;
 import java.time.LocalDate;
-import java.util.Objects;
 import java.util.StringJoiner;
 
 @Entity
@@ -25,7 +27,9 @@ public class User implements Serializable {
 
     @Id
     @Column(name = "id")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_id_seq")
+    // allocation size is the sequence INCREMENT BY, see init-db.sql
+    @SequenceGenerator(name = "users_id_seq", sequenceName = "users_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "email", nullable = false, unique = true)
@@ -43,32 +47,23 @@ public class User implements Serializable {
     @Column(name = "phone", nullable = false)
     private String phoneNumber;
 
-    @ManyToOne(cascade = {CascadeType.MERGE, CascadeType.PERSIST})
+    @ManyToOne(fetch = FetchType.LAZY, cascade = {CascadeType.MERGE, CascadeType.PERSIST})
     @JoinColumn(name = "address_id", referencedColumnName = "id")
     private Address address;
 
+    // the id never changes once assigned, unlike the email, and equality never touches the lazy address
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
+        if (o == null || Hibernate.getClass(this) != Hibernate.getClass(o)) return false;
         User user = (User) o;
-        if (!Objects.equals(firstName, user.firstName)) return false;
-        if (!Objects.equals(lastName, user.lastName)) return false;
-        if (!Objects.equals(birthDate, user.birthDate)) return false;
-        if (!Objects.equals(email, user.email)) return false;
-        if (!Objects.equals(phoneNumber, user.phoneNumber)) return false;
-        return Objects.equals(address, user.address);
+        return id != null && id.equals(user.getId());
     }
 
+    // constant, so the hash doesn't change when a new user gets its id
     @Override
     public int hashCode() {
-        int result = firstName != null ? firstName.hashCode() : 0;
-        result = 31 * result + (lastName != null ? lastName.hashCode() : 0);
-        result = 31 * result + (birthDate != null ? birthDate.hashCode() : 0);
-        result = 31 * result + (email != null ? email.hashCode() : 0);
-        result = 31 * result + (phoneNumber != null ? phoneNumber.hashCode() : 0);
-        result = 31 * result + (address != null ? address.hashCode() : 0);
-        return result;
+        return User.class.hashCode();
     }
 
     @Override
@@ -80,7 +75,8 @@ public class User implements Serializable {
                 .add("birthDate=" + birthDate)
                 .add("email='" + email + "'")
                 .add("phoneNumber='" + phoneNumber + "'")
-                .add("address=" + address)
+                // the id of an uninitialized proxy is known without loading it
+                .add("addressId=" + (address != null ? address.getId() : null))
                 .toString();
     }
 }
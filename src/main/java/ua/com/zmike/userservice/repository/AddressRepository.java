@@ -2,8 +2,41 @@ package ua.com.zmike.userservice.repository;
 
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import ua.com.zmike.userservice.model.Address;
 
+import javax.persistence.QueryHint;
+import java.util.Optional;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_REGION;
+import static ua.com.zmike.userservice.config.CacheConfig.ADDRESS_LOOKUP_REGION;
+
 public interface AddressRepository extends JpaRepository<Address, Long> {
 
+    // apartment 0 stands for no apartment, null can't be bound to the function argument
+    @QueryHints({
+            @QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = ADDRESS_LOOKUP_REGION)})
+    @Query("SELECT a FROM Address a WHERE a.fingerprint = "
+            + "function('address_fingerprint', :country, :city, :street, :houseNumber, :apartment, :zipcode)")
+    Optional<Address> findByFingerprint(@Param("country") String country,
+                                        @Param("city") String city,
+                                        @Param("street") String street,
+                                        @Param("houseNumber") String houseNumber,
+                                        @Param("apartment") int apartment,
+                                        @Param("zipcode") Integer zipcode);
+
+    // the no-op update locks and returns the existing row, so concurrent callers of one address get the same id
+    @Query(value = "INSERT INTO address (country, city, street, house_number, apt_number, zipcode) "
+            + "VALUES (:country, :city, :street, :houseNumber, NULLIF(:apartment, 0), :zipcode) "
+            + "ON CONFLICT (fingerprint) DO UPDATE SET country = address.country RETURNING id", nativeQuery = true)
+    Long upsert(@Param("country") String country,
+                @Param("city") String city,
+                @Param("street") String street,
+                @Param("houseNumber") String houseNumber,
+                @Param("apartment") int apartment,
+                @Param("zipcode") Integer zipcode);
 }
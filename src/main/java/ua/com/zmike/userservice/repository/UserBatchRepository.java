@@ -0,0 +1,16 @@
+package ua.com.zmike.userservice.repository;
+
+import ua.com.zmike.userservice.model.Address;
+import ua.com.zmike.userservice.model.User;
+
+import java.util.List;
+import java.util.Map;
+
+public interface UserBatchRepository {
+
+    // returns ids in the order of incoming addresses, missing addresses are inserted
+    List<Long> resolveAddressIds(List<Address> addresses);
+
+    // returns ids of inserted users by email, users with already existing email are skipped
+    Map<String, Long> insertUsers(List<User> users);
+}
@@ -0,0 +1,37 @@
+package ua.com.zmike.userservice.repository;
+
+import ua.com.zmike.userservice.dto.UserDto;
+import ua.com.zmike.userservice.dto.UserSearchCriteria;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+// read-only queries mapping rows straight to DTOs, without managed entities
+public interface UserReadRepository {
+
+    Optional<UserDto> findById(Long id);
+
+    List<UserDto> findAllByIds(Collection<Long> ids);
+
+    List<UserDto> findAllByBirthDateBetween(LocalDate from, LocalDate to);
+
+    // keyset page, users after (afterBirthDate, afterId) ordered by birth date and id
+    List<UserDto> findPageByBirthDateBetween(LocalDate from, LocalDate to,
+                                             LocalDate afterBirthDate, Long afterId, int limit);
+
+    // month-days are MMDD numbers as built by birth_month_day(), 'from' not greater than 'to';
+    // keyset page, users after (afterMonthDay, afterId) ordered by month-day and id
+    List<UserDto> findPageByBirthMonthDay(int from, int to, int afterMonthDay, Long afterId, int limit);
+
+    // keyset page of users matching all present criteria, ordered by id
+    List<UserDto> search(UserSearchCriteria criteria, Long afterId, int limit);
+
+    // users whose first name, last name or email contains the text, the best matching first
+    List<UserDto> searchByText(String text, int limit);
+
+    // rows are read through a cursor and passed to the consumer one by one, requires a transaction
+    void streamAllByBirthDateBetween(LocalDate from, LocalDate to, Consumer<UserDto> consumer);
+}
@@ -0,0 +1,115 @@
+package ua.com.zmike.userservice.repository.impl;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import ua.com.zmike.userservice.model.Address;
+import ua.com.zmike.userservice.model.User;
+import ua.com.zmike.userservice.repository.UserBatchRepository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static ua.com.zmike.userservice.config.CacheConfig.ADDRESS_LOOKUP_REGION;
+import static ua.com.zmike.userservice.config.MetricsConfig.REPOSITORY_INVOCATIONS;
+
+@Repository
+@Timed(REPOSITORY_INVOCATIONS)
+@RequiredArgsConstructor
+public class UserBatchRepositoryImpl implements UserBatchRepository {
+
+    private static final String ADDRESS_ROW = "(?::int, ?, ?, ?, ?, ?::int, ?::int)";
+    private static final String USER_ROW = "(?, ?, ?, ?, ?, ?)";
+
+    // existing addresses are matched, missing ones are inserted, all in one round trip
+    private static final String RESOLVE_ADDRESSES_SQL = "WITH v (idx, country, city, street, house_number, apt_number, zipcode) AS (VALUES %s), "
+            + "ins AS (INSERT INTO address (country, city, street, house_number, apt_number, zipcode) "
+            + "SELECT v.country, v.city, v.street, v.house_number, v.apt_number, v.zipcode FROM v "
+            + "WHERE NOT EXISTS (SELECT 1 FROM address a WHERE " + matchAddress("a") + ") "
+            + "ON CONFLICT DO NOTHING RETURNING *) "
+            + "SELECT v.idx, coalesce(a.id, i.id) AS id FROM v "
+            + "LEFT JOIN address a ON " + matchAddress("a") + " "
+            + "LEFT JOIN ins i ON " + matchAddress("i");
+
+    private static final String INSERT_USERS_SQL = "INSERT INTO users (email, first_name, last_name, phone, birth_date, address_id) "
+            + "VALUES %s ON CONFLICT (email) DO NOTHING RETURNING id, email";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SessionFactory sessionFactory;
+
+    @Override
+    public List<Long> resolveAddressIds(List<Address> addresses) {
+        if (addresses.isEmpty()) {
+            return List.of();
+        }
+        var ids = new ArrayList<>(Collections.<Long>nCopies(addresses.size(), null));
+        var unresolved = resolve(addresses, ids, IntStream.range(0, addresses.size()).boxed().collect(Collectors.toList()));
+        if (!unresolved.isEmpty()) {
+            // address was inserted by a concurrent transaction, the next statement sees it as existing
+            unresolved = resolve(addresses, ids, unresolved);
+        }
+        if (!unresolved.isEmpty()) {
+            throw new IllegalStateException("Addresses were not resolved: " + unresolved);
+        }
+        // addresses are inserted past Hibernate, lookups cached as not found are dropped explicitly
+        sessionFactory.getCache().evictQueryRegion(ADDRESS_LOOKUP_REGION);
+        return ids;
+    }
+
+    @Override
+    public Map<String, Long> insertUsers(List<User> users) {
+        if (users.isEmpty()) {
+            return Map.of();
+        }
+        var args = new ArrayList<>(users.size() * 6);
+        for (var user : users) {
+            args.add(user.getEmail());
+            args.add(user.getFirstName());
+            args.add(user.getLastName());
+            args.add(user.getPhoneNumber());
+            args.add(user.getBirthDate());
+            args.add(user.getAddress().getId());
+        }
+        return jdbcTemplate.query(String.format(INSERT_USERS_SQL, rows(USER_ROW, users.size())),
+                        (rs, rowNum) -> Map.entry(rs.getString("email"), rs.getLong("id")), args.toArray())
+                .stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+
+    private List<Integer> resolve(List<Address> addresses, List<Long> ids, List<Integer> indexes) {
+        var args = new ArrayList<>(indexes.size() * 7);
+        for (var index : indexes) {
+            var address = addresses.get(index);
+            args.add(index);
+            args.add(address.getCountry());
+            args.add(address.getCity());
+            args.add(address.getStreet());
+            args.add(address.getHouseNumber());
+            args.add(address.getApartment());
+            args.add(address.getZipcode());
+        }
+        jdbcTemplate.query(String.format(RESOLVE_ADDRESSES_SQL, rows(ADDRESS_ROW, indexes.size())),
+                        (rs, rowNum) -> Map.entry(rs.getInt("idx"), rs.getLong("id")), args.toArray())
+                .stream()
+                .filter(entry -> entry.getValue() != 0)
+                .forEach(entry -> ids.set(entry.getKey(), entry.getValue()));
+        return indexes.stream()
+                .filter(index -> ids.get(index) == null)
+                .collect(Collectors.toList());
+    }
+
+    private static String rows(String row, int count) {
+        return String.join(", ", Collections.nCopies(count, row));
+    }
+
+    private static String matchAddress(String alias) {
+        return alias + ".fingerprint = "
+                + "address_fingerprint(v.country, v.city, v.street, v.house_number, v.apt_number, v.zipcode)";
+    }
+}
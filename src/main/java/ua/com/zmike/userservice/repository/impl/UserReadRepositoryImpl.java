@@ -0,0 +1,199 @@
+package ua.com.zmike.userservice.repository.impl;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.StringUtils;
+import ua.com.zmike.userservice.dto.AddressDto;
+import ua.com.zmike.userservice.dto.UserDto;
+import ua.com.zmike.userservice.dto.UserSearchCriteria;
+import ua.com.zmike.userservice.repository.UserReadRepository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+import static ua.com.zmike.userservice.config.MetricsConfig.REPOSITORY_INVOCATIONS;
+
+@Repository
+@Timed(REPOSITORY_INVOCATIONS)
+@RequiredArgsConstructor
+public class UserReadRepositoryImpl implements UserReadRepository {
+
+    private static final String SELECT_USERS_SQL = "SELECT u.id, u.email, u.first_name, u.last_name, u.phone, u.birth_date, "
+            + "a.id AS address_id, a.country, a.city, a.street, a.house_number, a.apt_number, a.zipcode "
+            + "FROM users u LEFT JOIN address a ON a.id = u.address_id ";
+
+    private static final String FIND_BY_ID_SQL = SELECT_USERS_SQL + "WHERE u.id = ?";
+
+    // one array parameter keeps a single prepared statement for any number of ids
+    private static final String FIND_ALL_BY_IDS_SQL = SELECT_USERS_SQL + "WHERE u.id = ANY (?)";
+
+    private static final String FIND_BY_BIRTH_DATE_SQL = SELECT_USERS_SQL
+            + "WHERE u.birth_date BETWEEN ? AND ? ORDER BY u.birth_date, u.id";
+
+    // package-private for the query plan test
+    static final String FIND_PAGE_BY_BIRTH_DATE_SQL = SELECT_USERS_SQL
+            + "WHERE u.birth_date BETWEEN ? AND ? AND (u.birth_date, u.id) > (?, ?) "
+            + "ORDER BY u.birth_date, u.id LIMIT ?";
+
+    private static final String BIRTH_MONTH_DAY = "birth_month_day(u.birth_date)";
+
+    // package-private for the query plan test
+    static final String FIND_PAGE_BY_BIRTH_MONTH_DAY_SQL = SELECT_USERS_SQL
+            + "WHERE " + BIRTH_MONTH_DAY + " BETWEEN ? AND ? AND (" + BIRTH_MONTH_DAY + ", u.id) > (?, ?) "
+            + "ORDER BY " + BIRTH_MONTH_DAY + ", u.id LIMIT ?";
+
+    // users are filtered and limited first, address is joined for the rows of the page only
+    private static final String SEARCH_SQL = "SELECT u.id, u.email, u.first_name, u.last_name, u.phone, u.birth_date, "
+            + "a.id AS address_id, a.country, a.city, a.street, a.house_number, a.apt_number, a.zipcode "
+            + "FROM (SELECT * FROM users u WHERE %s ORDER BY u.id LIMIT ?) u "
+            + "LEFT JOIN address a ON a.id = u.address_id ORDER BY u.id";
+    // each LIKE is served by the trigram index of its column, the rank orders only the matching rows
+    private static final String SEARCH_BY_TEXT_SQL = "SELECT u.id, u.email, u.first_name, u.last_name, u.phone, u.birth_date, "
+            + "a.id AS address_id, a.country, a.city, a.street, a.house_number, a.apt_number, a.zipcode "
+            + "FROM (SELECT u.*, greatest(word_similarity(?, lower(u.first_name)), word_similarity(?, lower(u.last_name)), "
+            + "word_similarity(?, lower(u.email))) AS rank FROM users u "
+            + "WHERE lower(u.first_name) LIKE ? OR lower(u.last_name) LIKE ? OR lower(u.email) LIKE ? "
+            + "ORDER BY rank DESC, u.id LIMIT ?) u "
+            + "LEFT JOIN address a ON a.id = u.address_id ORDER BY u.rank DESC, u.id";
+    private static final String ADDRESS_SUBQUERY = "u.address_id IN (SELECT a.id FROM address a WHERE %s)";
+    private static final String AND = " AND ";
+    private static final Pattern LIKE_WILDCARDS = Pattern.compile("[\\\\%_]");
+
+    private static final RowMapper<UserDto> USER_DTO_MAPPER = (rs, rowNum) -> {
+        var addressId = rs.getObject("address_id", Long.class);
+        return UserDto.builder()
+                .id(rs.getLong("id"))
+                .email(rs.getString("email"))
+                .firstName(rs.getString("first_name"))
+                .lastName(rs.getString("last_name"))
+                .phoneNumber(rs.getString("phone"))
+                .birthDate(rs.getObject("birth_date", LocalDate.class))
+                .addressDto(addressId == null ? null : AddressDto.builder()
+                        .id(addressId)
+                        .country(rs.getString("country"))
+                        .city(rs.getString("city"))
+                        .street(rs.getString("street"))
+                        .houseNumber(rs.getString("house_number"))
+                        .apartment(rs.getObject("apt_number", Integer.class))
+                        .zipcode(rs.getObject("zipcode", Integer.class))
+                        .build())
+                .build();
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // the export cursor reads rows in batches of the size Hibernate uses
+    @Value("${spring.jpa.properties.hibernate.jdbc.fetch_size}")
+    private int exportFetchSize;
+
+    @Override
+    public Optional<UserDto> findById(Long id) {
+        return jdbcTemplate.query(FIND_BY_ID_SQL, USER_DTO_MAPPER, id)
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public List<UserDto> findAllByIds(Collection<Long> ids) {
+        return jdbcTemplate.query(FIND_ALL_BY_IDS_SQL,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids.toArray())), USER_DTO_MAPPER);
+    }
+
+    @Override
+    public List<UserDto> findAllByBirthDateBetween(LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(FIND_BY_BIRTH_DATE_SQL, USER_DTO_MAPPER, Date.valueOf(from), Date.valueOf(to));
+    }
+
+    @Override
+    public List<UserDto> findPageByBirthDateBetween(LocalDate from, LocalDate to,
+                                                    LocalDate afterBirthDate, Long afterId, int limit) {
+        return jdbcTemplate.query(FIND_PAGE_BY_BIRTH_DATE_SQL, USER_DTO_MAPPER,
+                Date.valueOf(from), Date.valueOf(to), Date.valueOf(afterBirthDate), afterId, limit);
+    }
+
+    @Override
+    public List<UserDto> findPageByBirthMonthDay(int from, int to, int afterMonthDay, Long afterId, int limit) {
+        return jdbcTemplate.query(FIND_PAGE_BY_BIRTH_MONTH_DAY_SQL, USER_DTO_MAPPER,
+                from, to, afterMonthDay, afterId, limit);
+    }
+
+    @Override
+    public List<UserDto> search(UserSearchCriteria criteria, Long afterId, int limit) {
+        var conditions = new ArrayList<String>();
+        var args = new ArrayList<>();
+        addCondition(conditions, args, "u.id > ?", afterId);
+        addCondition(conditions, args, "u.birth_date >= ?", toDate(criteria.getBirthDateFrom()));
+        addCondition(conditions, args, "u.birth_date <= ?", toDate(criteria.getBirthDateTo()));
+        addCondition(conditions, args, "lower(u.last_name) LIKE ? ESCAPE '\\'",
+                toLikePattern(criteria.getLastNamePrefix(), "", "%"));
+        addCondition(conditions, args, "lower(u.email) LIKE ? ESCAPE '\\'",
+                toLikePattern(criteria.getEmailDomain(), "%@", ""));
+
+        // address is read only when it is filtered by
+        var addressConditions = new ArrayList<String>();
+        var addressArgs = new ArrayList<>();
+        addCondition(addressConditions, addressArgs, "lower(a.country) = ?", toLowerCase(criteria.getCountry()));
+        addCondition(addressConditions, addressArgs, "lower(a.city) = ?", toLowerCase(criteria.getCity()));
+        addCondition(addressConditions, addressArgs, "a.zipcode = ?", criteria.getZipcode());
+        if (!addressConditions.isEmpty()) {
+            conditions.add(String.format(ADDRESS_SUBQUERY, String.join(AND, addressConditions)));
+            args.addAll(addressArgs);
+        }
+        args.add(limit);
+        return jdbcTemplate.query(String.format(SEARCH_SQL, String.join(AND, conditions)), USER_DTO_MAPPER, args.toArray());
+    }
+
+    @Override
+    public List<UserDto> searchByText(String text, int limit) {
+        var lowerCaseText = toLowerCase(text);
+        var pattern = toLikePattern(text, "%", "%");
+        return jdbcTemplate.query(SEARCH_BY_TEXT_SQL, USER_DTO_MAPPER,
+                lowerCaseText, lowerCaseText, lowerCaseText, pattern, pattern, pattern, limit);
+    }
+
+    @Override
+    public void streamAllByBirthDateBetween(LocalDate from, LocalDate to, Consumer<UserDto> consumer) {
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(FIND_BY_BIRTH_DATE_SQL);
+            statement.setFetchSize(exportFetchSize);
+            statement.setDate(1, Date.valueOf(from));
+            statement.setDate(2, Date.valueOf(to));
+            return statement;
+        }, (RowCallbackHandler) rs -> consumer.accept(USER_DTO_MAPPER.mapRow(rs, rs.getRow())));
+    }
+
+    private static void addCondition(List<String> conditions, List<Object> args, String condition, Object arg) {
+        if (arg != null) {
+            conditions.add(condition);
+            args.add(arg);
+        }
+    }
+
+    private static Date toDate(LocalDate date) {
+        return date == null ? null : Date.valueOf(date);
+    }
+
+    private static String toLowerCase(String value) {
+        return StringUtils.hasText(value) ? value.trim().toLowerCase(Locale.ROOT) : null;
+    }
+
+    // wildcards of the value are matched literally
+    private static String toLikePattern(String value, String prefix, String suffix) {
+        var lowerCaseValue = toLowerCase(value);
+        return lowerCaseValue == null
+                ? null
+                : prefix + LIKE_WILDCARDS.matcher(lowerCaseValue).replaceAll("\\\\$0") + suffix;
+    }
+}
@@ -0,0 +1,10 @@
+package ua.com.zmike.userservice.service;
+
+import ua.com.zmike.userservice.dto.AccessLogDto;
+
+public interface AccessLogService {
+
+    boolean offer(AccessLogDto entry);
+
+    int drain();
+}
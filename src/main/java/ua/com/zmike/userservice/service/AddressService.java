@@ -7,5 +7,7 @@ import java.util.Optional;
 
 public interface AddressService {
 
-    Optional<Address> findByExample(AddressDto addressDto);
+    Optional<Address> findByFingerprint(AddressDto addressDto);
+
+    Address resolveOrCreate(AddressDto addressDto);
 }
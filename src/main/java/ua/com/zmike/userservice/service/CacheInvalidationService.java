@@ -0,0 +1,6 @@
+package ua.com.zmike.userservice.service;
+
+public interface CacheInvalidationService {
+
+    void publish(String cacheName, Long key);
+}
@@ -0,0 +1,17 @@
+package ua.com.zmike.userservice.service;
+
+import ua.com.zmike.userservice.dto.SlowQueryDto;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+public interface SlowQueryLogService {
+
+    // parameters are only taken when the statement is slow, fast ones cost no copy;
+    // batchSize is the number of rows of an executed batch, zero for a single execution
+    void record(String sql, Supplier<List<Object>> parameters, int batchSize, long nanos);
+
+    List<SlowQueryDto> getTop(int limit);
+
+    void reset();
+}
@@ -0,0 +1,11 @@
+package ua.com.zmike.userservice.service;
+
+import ua.com.zmike.userservice.dto.BatchItemResultDto;
+import ua.com.zmike.userservice.dto.UserDto;
+
+import java.util.List;
+
+public interface UserBatchService {
+
+    List<BatchItemResultDto> addAll(List<UserDto> userDtos);
+}
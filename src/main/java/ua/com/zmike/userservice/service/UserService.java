@@ -1,19 +1,39 @@
 package ua.com.zmike.userservice.service;
 
 import ua.com.zmike.userservice.dto.AddressDto;
+import ua.com.zmike.userservice.dto.PageDto;
 import ua.com.zmike.userservice.dto.UserDto;
+import ua.com.zmike.userservice.dto.UserSearchCriteria;
+import ua.com.zmike.userservice.dto.UsersByIdsDto;
 
 import java.time.LocalDate;
+import java.time.MonthDay;
 import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
 
 public interface UserService {
 
     Collection<UserDto> getAllByBirthDateRange(LocalDate from, LocalDate to);
 
+    PageDto<UserDto> getPageByBirthDateRange(LocalDate from, LocalDate to, int limit, String next);
+
+    PageDto<UserDto> search(UserSearchCriteria criteria, int limit, String next);
+
+    List<UserDto> searchByText(String text, int limit);
+
+    PageDto<UserDto> getPageByAgeRange(int minAge, int maxAge, int limit, String next);
+
+    PageDto<UserDto> getPageByBirthdayRange(MonthDay from, MonthDay to, int limit, String next);
+
+    void exportAllByBirthDateRange(LocalDate from, LocalDate to, Consumer<UserDto> consumer);
+
     UserDto addOne(UserDto user);
 
     UserDto getOneById(Long id);
 
+    UsersByIdsDto getAllByIds(List<Long> ids);
+
     UserDto updateOne(Long id, UserDto user);
 
     UserDto updateAddress(Long userId, AddressDto address);
@@ -0,0 +1,101 @@
+package ua.com.zmike.userservice.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+import ua.com.zmike.userservice.dto.AccessLogDto;
+import ua.com.zmike.userservice.service.AccessLogService;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+// request threads only enqueue, formatting and file I/O happen on the writer thread,
+// a full buffer drops entries instead of blocking requests
+@Slf4j(topic = "AccessLog")
+@Service
+public class AccessLogServiceImpl implements AccessLogService, SmartLifecycle {
+
+    private final Queue<AccessLogDto> buffer = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final Counter dropped;
+
+    @Value("${access-log.buffer-size}")
+    private int bufferSize;
+    @Value("${access-log.flush-interval}")
+    private long flushInterval;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public AccessLogServiceImpl(MeterRegistry meterRegistry) {
+        dropped = Counter.builder("access.log.dropped")
+                .description("Access log entries dropped because the buffer was full")
+                .register(meterRegistry);
+    }
+
+    // the size is reserved before the entry is added, so the buffer never grows over its bound
+    @Override
+    public boolean offer(AccessLogDto entry) {
+        if (size.incrementAndGet() > bufferSize) {
+            size.decrementAndGet();
+            dropped.increment();
+            return false;
+        }
+        buffer.add(entry);
+        return true;
+    }
+
+    @Override
+    public int drain() {
+        var written = 0;
+        AccessLogDto entry;
+        while ((entry = buffer.poll()) != null) {
+            size.decrementAndGet();
+            log.info("method={} uri={} query={} handler={} status={} durationMs={} timestamp={}",
+                    entry.getMethod(), entry.getUri(), entry.getQuery(), entry.getHandler(), entry.getStatus(),
+                    entry.getDurationMillis(), entry.getTimestamp());
+            written++;
+        }
+        return written;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writer = new Thread(() -> {
+            while (running) {
+                if (drain() == 0) {
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(flushInterval));
+                }
+            }
+            drain();
+        }, "access-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // entries buffered before the stop are still written
+    @Override
+    public void stop() {
+        running = false;
+        if (writer != null) {
+            LockSupport.unpark(writer);
+            try {
+                writer.join(flushInterval * 10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -1,11 +1,11 @@
 package ua.com.zmike.userservice.service.impl;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Example;
-import org.springframework.data.domain.ExampleMatcher;
+import org.hibernate.SessionFactory;
 import org.springframework.stereotype.Service;
-import ua.com.zmike.userservice.converter.DtoConverter;
+import org.springframework.transaction.annotation.Transactional;
 import ua.com.zmike.userservice.dto.AddressDto;
 import ua.com.zmike.userservice.model.Address;
 import ua.com.zmike.userservice.repository.AddressRepository;
@@ -13,20 +13,49 @@ import ua.com.zmike.userservice.service.AddressService;
 
 import java.util.Optional;
 
+import static ua.com.zmike.userservice.config.CacheConfig.ADDRESS_LOOKUP_REGION;
+import static ua.com.zmike.userservice.config.MetricsConfig.SERVICE_INVOCATIONS;
+
 @Slf4j
 @Service
+@Timed(SERVICE_INVOCATIONS)
 @RequiredArgsConstructor
 public class AddressServiceImpl implements AddressService {
 
-    private final DtoConverter<AddressDto, Address> converter;
+    private static final int NO_APARTMENT = 0;
+
     private final AddressRepository addressRepository;
+    private final SessionFactory sessionFactory;
+
+    @Override
+    public Optional<Address> findByFingerprint(AddressDto addressDto) {
+        return addressRepository.findByFingerprint(
+                addressDto.getCountry(),
+                addressDto.getCity(),
+                addressDto.getStreet(),
+                addressDto.getHouseNumber(),
+                Optional.ofNullable(addressDto.getApartment()).orElse(NO_APARTMENT),
+                addressDto.getZipcode());
+    }
 
+    // the cached lookup spares the upsert, which writes a new row version even for an existing address
+    @Transactional
     @Override
-    public Optional<Address> findByExample(AddressDto addressDto) {
-        var address = converter.convertFromDto(addressDto);
-        var example = Example.of(
-                address, ExampleMatcher.matchingAll().withIgnorePaths("id", "users").withIncludeNullValues());
-        return addressRepository.findOne(example);
+    public Address resolveOrCreate(AddressDto addressDto) {
+        return findByFingerprint(addressDto)
+                .orElseGet(() -> create(addressDto));
+    }
 
+    private Address create(AddressDto addressDto) {
+        var id = addressRepository.upsert(
+                addressDto.getCountry(),
+                addressDto.getCity(),
+                addressDto.getStreet(),
+                addressDto.getHouseNumber(),
+                Optional.ofNullable(addressDto.getApartment()).orElse(NO_APARTMENT),
+                addressDto.getZipcode());
+        // the native upsert is invisible to Hibernate, lookups cached as not found are dropped explicitly
+        sessionFactory.getCache().evictQueryRegion(ADDRESS_LOOKUP_REGION);
+        return addressRepository.getReferenceById(id);
     }
 }
@@ -0,0 +1,108 @@
+package ua.com.zmike.userservice.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import ua.com.zmike.userservice.service.CacheInvalidationService;
+import ua.com.zmike.userservice.util.CacheLoadGuard;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CacheInvalidationServiceImpl implements CacheInvalidationService, SmartLifecycle {
+
+    private static final String NOTIFY_SQL = "SELECT pg_notify(?, ?)";
+    private static final String KEY_SEPARATOR = ":";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CacheManager cacheManager;
+    private final CacheLoadGuard cacheLoadGuard;
+    private final DataSourceProperties dataSourceProperties;
+
+    @Value("${cache.invalidation.channel}")
+    private String channel;
+    @Value("${cache.invalidation.poll-timeout}")
+    private int pollTimeout;
+
+    private volatile boolean running;
+    private Thread listener;
+
+    // joins the caller's transaction, so the message is delivered on commit and dropped on rollback
+    @Override
+    public void publish(String cacheName, Long key) {
+        jdbcTemplate.queryForList(NOTIFY_SQL, channel, cacheName + KEY_SEPARATOR + key);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        listener = new Thread(this::listen, "cache-invalidation-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        listener.interrupt();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        while (running) {
+            // dedicated connection, LISTEN is bound to the session and would hold a pooled one forever
+            try (var connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+                 var statement = connection.createStatement()) {
+                statement.execute("LISTEN \"" + channel + "\"");
+                // messages published while the listener was disconnected are lost
+                clearAll();
+                log.info("Listening for cache invalidations on channel '{}'", channel);
+                var pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    var notifications = pgConnection.getNotifications(pollTimeout);
+                    if (notifications != null) {
+                        for (var notification : notifications) {
+                            evict(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Cache invalidation listener disconnected, reconnecting", e);
+                    pause();
+                }
+            }
+        }
+    }
+
+    private void evict(String message) {
+        var separator = message.lastIndexOf(KEY_SEPARATOR);
+        cacheLoadGuard.invalidate(message.substring(0, separator), Long.valueOf(message.substring(separator + 1)));
+    }
+
+    private void clearAll() {
+        cacheManager.getCacheNames().forEach(cacheLoadGuard::invalidateAll);
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(pollTimeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
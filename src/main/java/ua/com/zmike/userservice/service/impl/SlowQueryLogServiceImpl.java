@@ -0,0 +1,162 @@
+package ua.com.zmike.userservice.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import ua.com.zmike.userservice.config.ReplicaRoutingDataSource;
+import ua.com.zmike.userservice.dto.SlowQueryDto;
+import ua.com.zmike.userservice.service.SlowQueryLogService;
+
+import java.sql.SQLException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+@Slf4j(topic = "SlowQueryLog")
+@Service
+@RequiredArgsConstructor
+public class SlowQueryLogServiceImpl implements SlowQueryLogService, DisposableBean {
+
+    private static final double NANOS_PER_MILLI = 1_000_000d;
+    // bounds memory when statements are built with literals instead of parameters
+    private static final int MAX_STATEMENTS = 1000;
+    private static final int MAX_PENDING_EXPLAINS = 10;
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\?(?:::\\w+)?(?: ?, ?\\?(?:::\\w+)?)+");
+    private static final Pattern REPEATED_ROWS = Pattern.compile("\\(\\?\\)(?: ?, ?\\(\\?\\))+");
+
+    private final ReplicaRoutingDataSource routingDataSource;
+
+    private final Map<String, Statistics> statistics = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor explainExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(MAX_PENDING_EXPLAINS), runnable -> {
+        var thread = new Thread(runnable, "slow-query-explain");
+        thread.setDaemon(true);
+        return thread;
+    }, new ThreadPoolExecutor.DiscardPolicy());
+
+    @Value("${datasource.slow-query.threshold}")
+    private long threshold;
+    @Value("${datasource.slow-query.explain-sample-rate}")
+    private double explainSampleRate;
+
+    @Override
+    public void record(String sql, Supplier<List<Object>> parameterSupplier, int batchSize, long nanos) {
+        if (sql == null || nanos < TimeUnit.MILLISECONDS.toNanos(threshold)) {
+            return;
+        }
+        var parameters = batchSize > 0 ? List.of() : parameterSupplier.get();
+        if (batchSize > 0) {
+            log.warn("Slow query {} ms: {}, batch of {}", nanos / NANOS_PER_MILLI, sql, batchSize);
+        } else {
+            log.warn("Slow query {} ms: {}, parameters: {}", nanos / NANOS_PER_MILLI, sql, parameters);
+        }
+        var normalizedSql = normalize(sql);
+        var statement = statistics.size() < MAX_STATEMENTS
+                ? statistics.computeIfAbsent(normalizedSql, key -> new Statistics())
+                : statistics.get(normalizedSql);
+        if (statement != null) {
+            statement.add(nanos);
+        }
+        if (batchSize == 0 && isSelect(normalizedSql) && ThreadLocalRandom.current().nextDouble() < explainSampleRate) {
+            explainExecutor.execute(() -> explain(sql, parameters));
+        }
+    }
+
+    @Override
+    public List<SlowQueryDto> getTop(int limit) {
+        return statistics.entrySet()
+                .stream()
+                .map(entry -> entry.getValue().toDto(entry.getKey()))
+                .sorted(Comparator.comparingDouble(SlowQueryDto::getTotalMillis).reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void reset() {
+        statistics.clear();
+    }
+
+    @Override
+    public void destroy() {
+        explainExecutor.shutdownNow();
+    }
+
+    static String normalize(String sql) {
+        var normalizedSql = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        normalizedSql = STRING_LITERAL.matcher(normalizedSql).replaceAll("?");
+        normalizedSql = NUMBER_LITERAL.matcher(normalizedSql).replaceAll("?");
+        normalizedSql = PARAMETER_LIST.matcher(normalizedSql).replaceAll("?");
+        return REPEATED_ROWS.matcher(normalizedSql).replaceAll("(?)");
+    }
+
+    private static boolean isSelect(String sql) {
+        return sql.regionMatches(true, 0, "select ", 0, 7);
+    }
+
+    // ANALYZE runs the statement, the read-only transaction is rolled back whatever the statement does;
+    // only SELECTs are explained, so a replica that keeps up takes the load off the primary
+    private void explain(String sql, List<Object> parameters) {
+        try (var connection = routingDataSource.getReadOnlyConnection()) {
+            connection.setAutoCommit(false);
+            try (var statement = connection.prepareStatement("EXPLAIN (ANALYZE, BUFFERS) " + sql)) {
+                for (var i = 0; i < parameters.size(); i++) {
+                    statement.setObject(i + 1, parameters.get(i));
+                }
+                var plan = new StringJoiner(System.lineSeparator());
+                try (var resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        plan.add(resultSet.getString(1));
+                    }
+                }
+                log.warn("Plan of slow query: {}{}{}", sql, System.lineSeparator(), plan);
+            } finally {
+                connection.rollback();
+            }
+        } catch (SQLException e) {
+            log.debug("Slow query was not explained: {}", sql, e);
+        }
+    }
+
+    private static class Statistics {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        void add(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+
+        SlowQueryDto toDto(String sql) {
+            var executions = count.sum();
+            var total = totalNanos.sum() / NANOS_PER_MILLI;
+            return SlowQueryDto.builder()
+                    .sql(sql)
+                    .count(executions)
+                    .totalMillis(total)
+                    .meanMillis(executions == 0 ? 0 : total / executions)
+                    .maxMillis(maxNanos.get() / NANOS_PER_MILLI)
+                    .build();
+        }
+    }
+}
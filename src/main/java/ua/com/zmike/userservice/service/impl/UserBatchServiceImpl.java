@@ -0,0 +1,120 @@
+package ua.com.zmike.userservice.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ua.com.zmike.userservice.converter.DtoConverter;
+import ua.com.zmike.userservice.dto.AddressDto;
+import ua.com.zmike.userservice.dto.BatchItemResultDto;
+import ua.com.zmike.userservice.dto.BatchItemResultDto.Status;
+import ua.com.zmike.userservice.dto.UserDto;
+import ua.com.zmike.userservice.model.Address;
+import ua.com.zmike.userservice.model.User;
+import ua.com.zmike.userservice.repository.UserBatchRepository;
+import ua.com.zmike.userservice.service.UserBatchService;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserBatchServiceImpl implements UserBatchService {
+
+    private final DtoConverter<UserDto, User> userDtoConverter;
+    private final DtoConverter<AddressDto, Address> addressDtoConverter;
+
+    private final UserBatchRepository userBatchRepository;
+    private final Validator validator;
+
+    @Value(value = "${user.batch.chunk-size}")
+    private int chunkSize;
+
+    @Transactional
+    @Override
+    public List<BatchItemResultDto> addAll(List<UserDto> userDtos) {
+        var results = new BatchItemResultDto[userDtos.size()];
+        var indexesByEmail = new LinkedHashMap<String, Integer>();
+        for (int index = 0; index < userDtos.size(); index++) {
+            var userDto = userDtos.get(index);
+            var violations = validator.validate(userDto);
+            if (!violations.isEmpty()) {
+                var message = violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining(", "));
+                results[index] = toResult(index, Status.INVALID, null, message);
+            } else if (indexesByEmail.putIfAbsent(userDto.getEmail(), index) != null) {
+                results[index] = toResult(index, Status.DUPLICATE, null,
+                        String.format("Email '%s' is repeated in the batch", userDto.getEmail()));
+            }
+        }
+
+        var indexes = new ArrayList<>(indexesByEmail.values());
+        var addressIds = resolveAddressIds(indexes.stream()
+                .map(index -> userDtos.get(index).getAddressDto())
+                .distinct()
+                .collect(Collectors.toList()));
+        for (var chunk : toChunks(indexes)) {
+            var users = chunk.stream()
+                    .map(index -> toUser(userDtos.get(index), addressIds))
+                    .collect(Collectors.toList());
+            var ids = userBatchRepository.insertUsers(users);
+            for (var index : chunk) {
+                var email = userDtos.get(index).getEmail();
+                results[index] = ids.containsKey(email)
+                        ? toResult(index, Status.CREATED, ids.get(email), null)
+                        : toResult(index, Status.DUPLICATE, null, String.format("User with email '%s' already exists", email));
+            }
+        }
+        log.info("Batch of {} Users processed, {} unique addresses", userDtos.size(), addressIds.size());
+        return Arrays.asList(results);
+    }
+
+    private Map<AddressDto, Long> resolveAddressIds(List<AddressDto> addressDtos) {
+        var addressIds = new HashMap<AddressDto, Long>();
+        for (var chunk : toChunks(addressDtos)) {
+            var ids = userBatchRepository.resolveAddressIds(chunk.stream()
+                    .map(addressDtoConverter::convertFromDto)
+                    .collect(Collectors.toList()));
+            for (int i = 0; i < chunk.size(); i++) {
+                addressIds.put(chunk.get(i), ids.get(i));
+            }
+        }
+        return addressIds;
+    }
+
+    private User toUser(UserDto userDto, Map<AddressDto, Long> addressIds) {
+        var user = userDtoConverter.convertFromDto(userDto);
+        var address = new Address();
+        address.setId(addressIds.get(userDto.getAddressDto()));
+        user.setAddress(address);
+        return user;
+    }
+
+    private <T> List<List<T>> toChunks(List<T> items) {
+        var chunks = new ArrayList<List<T>>();
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            chunks.add(items.subList(from, Math.min(from + chunkSize, items.size())));
+        }
+        return chunks;
+    }
+
+    private static BatchItemResultDto toResult(int index, Status status, Long id, String message) {
+        return BatchItemResultDto.builder()
+                .index(index)
+                .status(status)
+                .id(id)
+                .message(message)
+                .build();
+    }
+}
@@ -1,36 +1,71 @@
 package ua.com.zmike.userservice.service.impl;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import ua.com.zmike.userservice.converter.DtoConverter;
 import ua.com.zmike.userservice.dto.AddressDto;
+import ua.com.zmike.userservice.dto.PageDto;
 import ua.com.zmike.userservice.dto.UserDto;
+import ua.com.zmike.userservice.dto.UserSearchCriteria;
+import ua.com.zmike.userservice.dto.UsersByIdsDto;
+import ua.com.zmike.userservice.exception.IncorrectValueException;
 import ua.com.zmike.userservice.exception.TargetNotFoundException;
-import ua.com.zmike.userservice.model.Address;
 import ua.com.zmike.userservice.model.User;
+import ua.com.zmike.userservice.repository.UserReadRepository;
 import ua.com.zmike.userservice.repository.UserRepository;
 import ua.com.zmike.userservice.service.AddressService;
+import ua.com.zmike.userservice.service.CacheInvalidationService;
 import ua.com.zmike.userservice.service.UserService;
+import ua.com.zmike.userservice.util.AgeUtil;
+import ua.com.zmike.userservice.util.CacheLoadGuard;
+import ua.com.zmike.userservice.util.CursorUtil;
+import ua.com.zmike.userservice.util.PageUtil;
+import ua.com.zmike.userservice.util.SingleFlight;
 import ua.com.zmike.userservice.util.ValidationUtil;
 
 import java.time.LocalDate;
+import java.time.MonthDay;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import static ua.com.zmike.userservice.config.CacheConfig.USERS_CACHE;
+import static ua.com.zmike.userservice.config.MetricsConfig.SERVICE_INVOCATIONS;
+
 @Slf4j
 @Service
+@Timed(SERVICE_INVOCATIONS)
 @Transactional(readOnly = true)
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
 
+    private static final int FIRST_MONTH_DAY = 101;
+    private static final int FEBRUARY_28 = 228;
+    private static final int LEAP_DAY = 229;
+    private static final int MARCH_1 = 301;
+    private static final int LAST_MONTH_DAY = 1231;
+
     private final DtoConverter<UserDto, User> userDtoConverter;
-    private final DtoConverter<AddressDto, Address> addressDtoConverter;
 
     private final UserRepository userRepository;
+    private final UserReadRepository userReadRepository;
     private final AddressService addressService;
+    private final CacheInvalidationService cacheInvalidationService;
+    private final SingleFlight<Long, UserDto> userLookupSingleFlight;
+    private final CacheLoadGuard cacheLoadGuard;
 
     @Transactional
     @Override
@@ -40,9 +75,35 @@ public class UserServiceImpl implements UserService {
         return saveAndConvertToDto(user);
     }
 
+    // the cached user lives until the next write evicts it, so it is read from the primary, not a lagging replica;
+    // no transaction, a cache hit doesn't open one, and a miss doesn't run in a read-only one routed to a replica
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     @Override
     public UserDto getOneById(Long id) {
-        return userDtoConverter.convertToDto(getExistingUserById(id));
+        return cacheLoadGuard.get(USERS_CACHE, id, UserDto.class, () -> userReadRepository.findById(id)
+                .orElseThrow(() -> new TargetNotFoundException("User", "id", id)));
+    }
+
+    @Override
+    public UsersByIdsDto getAllByIds(List<Long> ids) {
+        var requestedIds = new LinkedHashSet<>(ids);
+        var foundUsers = userReadRepository.findAllByIds(requestedIds)
+                .stream()
+                .collect(Collectors.toMap(UserDto::getId, Function.identity()));
+        var users = new ArrayList<UserDto>(foundUsers.size());
+        var missingIds = new ArrayList<Long>();
+        for (var id : requestedIds) {
+            var user = foundUsers.get(id);
+            if (user != null) {
+                users.add(user);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return UsersByIdsDto.builder()
+                .users(users)
+                .missingIds(missingIds)
+                .build();
     }
 
     @Transactional
@@ -70,29 +131,127 @@ public class UserServiceImpl implements UserService {
     @Override
     public void deleteOneById(Long id) {
         userRepository.deleteById(id);
+        invalidateUser(id);
     }
 
     @Override
     public Set<UserDto> getAllByBirthDateRange(LocalDate from, LocalDate to) {
         ValidationUtil.validateDateRange(from, to);
-        return userRepository.findAllByBirthDateBetween(from, to)
-                .stream()
-                .map(userDtoConverter::convertToDto)
-                .collect(Collectors.toCollection(LinkedHashSet::new));
+        return new LinkedHashSet<>(userReadRepository.findAllByBirthDateBetween(from, to));
+    }
+
+    @Override
+    public PageDto<UserDto> getPageByBirthDateRange(LocalDate from, LocalDate to, int limit, String next) {
+        ValidationUtil.validateDateRange(from, to);
+        var after = next == null
+                ? Map.entry(from, 0L)
+                : CursorUtil.decode(next, 2, keys -> Map.entry(LocalDate.parse(keys[0]), Long.valueOf(keys[1])));
+        var users = userReadRepository.findPageByBirthDateBetween(
+                from, to, after.getKey(), after.getValue(), limit + 1);
+        return PageUtil.toPage(users, limit, Function.identity(),
+                user -> CursorUtil.encode(user.getBirthDate(), user.getId()));
+    }
+
+    @Override
+    public PageDto<UserDto> search(UserSearchCriteria criteria, int limit, String next) {
+        if (criteria.getBirthDateFrom() != null && criteria.getBirthDateTo() != null) {
+            ValidationUtil.validateDateRange(criteria.getBirthDateFrom(), criteria.getBirthDateTo());
+        }
+        var afterId = next == null ? 0L : CursorUtil.decode(next, 1, keys -> Long.valueOf(keys[0]));
+        var users = userReadRepository.search(criteria, afterId, limit + 1);
+        return PageUtil.toPage(users, limit, Function.identity(), user -> CursorUtil.encode(user.getId()));
+    }
+
+    @Override
+    public List<UserDto> searchByText(String text, int limit) {
+        return userReadRepository.searchByText(text, limit);
+    }
+
+    @Override
+    public PageDto<UserDto> getPageByAgeRange(int minAge, int maxAge, int limit, String next) {
+        ValidationUtil.validateAgeRange(minAge, maxAge);
+        // ages become plain birth date bounds, so the query stays a range scan of the birth date index
+        var today = LocalDate.now();
+        return getPageByBirthDateRange(
+                AgeUtil.getEarliestBirthDate(maxAge, today), AgeUtil.getLatestBirthDate(minAge, today), limit, next);
+    }
+
+    @Override
+    public PageDto<UserDto> getPageByBirthdayRange(MonthDay from, MonthDay to, int limit, String next) {
+        var after = next == null
+                ? new long[]{0, 0, 0}
+                : CursorUtil.decode(next, 3, keys -> Arrays.stream(keys).mapToLong(Long::parseLong).toArray());
+        var fromKey = toMonthDayKey(from);
+        var toKey = toMonthDayKey(to);
+        // in common years users born on February 29 have their birthday on March 1, as AgeUtil counts their age;
+        // 229 sorts right before 301, so the leap day is taken in by moving the bounds
+        if (!Year.now().isLeap()) {
+            toKey = toKey == LEAP_DAY && fromKey != LEAP_DAY ? FEBRUARY_28 : toKey;
+            fromKey = fromKey == MARCH_1 ? LEAP_DAY : fromKey;
+        }
+        // a range wrapping over the year end is read as two plain ranges, December first,
+        // the cursor keeps the segment so every query stays an ordered scan of the expression index
+        var segments = fromKey <= toKey
+                ? new int[][]{{fromKey, toKey}}
+                : new int[][]{{fromKey, LAST_MONTH_DAY}, {FIRST_MONTH_DAY, toKey}};
+        if (after[0] < 0 || after[0] >= segments.length) {
+            throw new IncorrectValueException(String.format("Cursor '%s' is not valid", next));
+        }
+        var users = new ArrayList<UserDto>();
+        var afterMonthDay = (int) after[1];
+        var afterId = after[2];
+        for (var segment = (int) after[0]; segment < segments.length && users.size() <= limit; segment++) {
+            users.addAll(userReadRepository.findPageByBirthMonthDay(
+                    segments[segment][0], segments[segment][1], afterMonthDay, afterId, limit + 1 - users.size()));
+            afterMonthDay = 0;
+            afterId = 0L;
+        }
+        var firstSegmentFrom = segments[0][0];
+        return PageUtil.toPage(users, limit, Function.identity(), user -> {
+            var monthDay = toMonthDayKey(MonthDay.from(user.getBirthDate()));
+            return CursorUtil.encode(monthDay >= firstSegmentFrom ? 0 : 1, monthDay, user.getId());
+        });
+    }
+
+    @Override
+    public void exportAllByBirthDateRange(LocalDate from, LocalDate to, Consumer<UserDto> consumer) {
+        ValidationUtil.validateDateRange(from, to);
+        userReadRepository.streamAllByBirthDateBetween(from, to, consumer);
+    }
+
+    private static int toMonthDayKey(MonthDay monthDay) {
+        return monthDay.getMonthValue() * 100 + monthDay.getDayOfMonth();
     }
 
     private UserDto saveAndConvertToDto(User user) {
         var savedUser = userRepository.save(user);
+        invalidateUser(savedUser.getId());
         return userDtoConverter.convertToDto(savedUser);
     }
 
-    private void applyAddress(User user, AddressDto addressDto) {
-        var newAddress = addressService.findByExample(addressDto);
-        if (newAddress.isPresent()) {
-            user.setAddress(newAddress.get());
-        } else {
-            user.setAddress(addressDtoConverter.convertFromDto(addressDto));
+    // other nodes evict on the published message, this one once the transaction commits: a lookup started
+    // earlier may have read the old row, it is neither cached nor joined by the lookups that follow
+    private void invalidateUser(Long id) {
+        cacheInvalidationService.publish(USERS_CACHE, id);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evictUser(id);
+            return;
         }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evictUser(id);
+            }
+        });
+    }
+
+    private void evictUser(Long id) {
+        cacheLoadGuard.invalidate(USERS_CACHE, id);
+        userLookupSingleFlight.forget(id);
+    }
+
+    private void applyAddress(User user, AddressDto addressDto) {
+        user.setAddress(addressService.resolveOrCreate(addressDto));
     }
 
     private User getExistingUserById(Long id) {
@@ -0,0 +1,24 @@
+package ua.com.zmike.userservice.util;
+
+import lombok.experimental.UtilityClass;
+
+import java.time.LocalDate;
+
+// age is the count of full years lived, users born on February 29 get one year older on March 1 in common years
+@UtilityClass
+public class AgeUtil {
+
+    public int getAge(LocalDate birthDate, LocalDate today) {
+        return birthDate.until(today).getYears();
+    }
+
+    // the latest birth date of a user who is at least 'age' years old
+    public LocalDate getLatestBirthDate(int age, LocalDate today) {
+        return today.minusYears(age);
+    }
+
+    // the earliest birth date of a user who is at most 'age' years old
+    public LocalDate getEarliestBirthDate(int age, LocalDate today) {
+        return today.minusYears(age + 1L).plusDays(1);
+    }
+}
@@ -0,0 +1,59 @@
+package ua.com.zmike.userservice.util;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+// a value loaded while its key was invalidated is not kept: the load may have read the row before the write
+// committed and would otherwise put it back after the write evicted it;
+// invalidations are counted on striped counters, keys sharing a stripe only skip caching now and then
+@RequiredArgsConstructor
+public class CacheLoadGuard {
+
+    private static final int STRIPES = 1024;
+
+    private final CacheManager cacheManager;
+    private final AtomicLongArray invalidations = new AtomicLongArray(STRIPES);
+
+    public <V> V get(String cacheName, Object key, Class<V> type, Supplier<V> loader) {
+        var cache = cacheManager.getCache(cacheName);
+        var cached = cache.get(key, type);
+        if (cached != null) {
+            return cached;
+        }
+        var stripe = stripe(cacheName, key);
+        var invalidationsBefore = invalidations.get(stripe);
+        var value = loader.get();
+        cache.put(key, value);
+        // invalidations count before they evict, one that came before the put has its eviction repeated here
+        if (invalidations.get(stripe) != invalidationsBefore) {
+            cache.evict(key);
+        }
+        return value;
+    }
+
+    public void invalidate(String cacheName, Object key) {
+        invalidations.incrementAndGet(stripe(cacheName, key));
+        var cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+
+    public void invalidateAll(String cacheName) {
+        for (var i = 0; i < STRIPES; i++) {
+            invalidations.incrementAndGet(i);
+        }
+        var cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    private static int stripe(String cacheName, Object key) {
+        return Math.floorMod(Objects.hash(cacheName, key), STRIPES);
+    }
+}
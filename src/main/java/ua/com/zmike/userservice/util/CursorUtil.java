@@ -0,0 +1,38 @@
+package ua.com.zmike.userservice.util;
+
+import lombok.experimental.UtilityClass;
+import ua.com.zmike.userservice.exception.IncorrectValueException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+@UtilityClass
+public class CursorUtil {
+
+    private static final String DELIMITER = "|";
+    private static final Pattern DELIMITER_PATTERN = Pattern.compile(Pattern.quote(DELIMITER));
+
+    public String encode(Object... keys) {
+        var joinedKeys = Arrays.stream(keys)
+                .map(String::valueOf)
+                .collect(Collectors.joining(DELIMITER));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(joinedKeys.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public <T> T decode(String cursor, int keysCount, Function<String[], T> parser) {
+        try {
+            var decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            var keys = DELIMITER_PATTERN.split(decoded, -1);
+            if (keys.length != keysCount) {
+                throw new IllegalArgumentException(decoded);
+            }
+            return parser.apply(keys);
+        } catch (RuntimeException ex) {
+            throw new IncorrectValueException(String.format("Cursor '%s' is not valid", cursor));
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package ua.com.zmike.userservice.util;
+
+import lombok.experimental.UtilityClass;
+import ua.com.zmike.userservice.dto.PageDto;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@UtilityClass
+public class PageUtil {
+
+    // rows are expected to be fetched with 'limit + 1' to detect that the next page exists
+    public <S, T> PageDto<T> toPage(List<S> rows, int limit, Function<S, T> converter, Function<S, String> cursor) {
+        var hasNext = rows.size() > limit;
+        var pageRows = hasNext ? rows.subList(0, limit) : rows;
+        return PageDto.<T>builder()
+                .content(pageRows.stream().map(converter).collect(Collectors.toList()))
+                .next(hasNext ? cursor.apply(pageRows.get(limit - 1)) : null)
+                .build();
+    }
+}
@@ -0,0 +1,54 @@
+package ua.com.zmike.userservice.util;
+
+import io.micrometer.core.instrument.Counter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// concurrent calls for the same key wait for the one already in flight instead of loading again
+@RequiredArgsConstructor
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter collapsedCalls;
+
+    public V execute(K key, Supplier<V> loader) {
+        var call = new CompletableFuture<V>();
+        var existingCall = inFlight.putIfAbsent(key, call);
+        if (existingCall != null) {
+            collapsedCalls.increment();
+            return await(existingCall);
+        }
+        try {
+            var value = loader.get();
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    // callers coming after a write of the key load it again instead of joining a load that read the old value
+    public void forget(K key) {
+        inFlight.remove(key);
+    }
+
+    private static <V> V await(CompletableFuture<V> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            // waiting callers get the same exception as the loading one, e.g. TargetNotFoundException
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
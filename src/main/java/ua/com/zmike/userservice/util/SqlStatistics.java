@@ -0,0 +1,66 @@
+package ua.com.zmike.userservice.util;
+
+import lombok.Getter;
+
+import java.util.Locale;
+import java.util.Optional;
+
+// JDBC work of the request handled by the current thread, collected by SqlStatisticsDataSource
+@Getter
+public class SqlStatistics {
+
+    private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+    private static final double NANOS_PER_MILLI = 1_000_000d;
+
+    private int statements;
+    private long rows;
+    private long statementNanos;
+    private int connections;
+    private long connectionNanos;
+
+    public static SqlStatistics start() {
+        var statistics = new SqlStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    public static Optional<SqlStatistics> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    public void addStatement(long nanos) {
+        statements++;
+        statementNanos += nanos;
+    }
+
+    // time of fetching rows is database time as well, next() reads the following batch from the server
+    public void addRowFetch(long nanos, boolean rowFetched) {
+        statementNanos += nanos;
+        if (rowFetched) {
+            rows++;
+        }
+    }
+
+    public void addConnection(long nanos) {
+        connections++;
+        connectionNanos += nanos;
+    }
+
+    public double getStatementMillis() {
+        return statementNanos / NANOS_PER_MILLI;
+    }
+
+    public double getConnectionMillis() {
+        return connectionNanos / NANOS_PER_MILLI;
+    }
+
+    // value of the Server-Timing response header
+    public String toServerTiming() {
+        return String.format(Locale.ROOT, "db;dur=%.3f;desc=\"%d statements, %d rows\", db-connection;dur=%.3f;desc=\"%d connections\"",
+                getStatementMillis(), statements, rows, getConnectionMillis(), connections);
+    }
+}
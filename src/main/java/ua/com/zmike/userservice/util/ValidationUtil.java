@@ -13,4 +13,10 @@ public class ValidationUtil {
             throw new IncorrectValueException("Date 'date from' must be less then 'date to'");
         }
     }
+
+    public void validateAgeRange(int minAge, int maxAge) {
+        if (minAge > maxAge) {
+            throw new IncorrectValueException("Age 'min age' must not be greater then 'max age'");
+        }
+    }
 }
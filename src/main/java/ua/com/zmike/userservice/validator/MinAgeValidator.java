@@ -1,6 +1,7 @@
 package ua.com.zmike.userservice.validator;
 
 import org.springframework.beans.factory.annotation.Value;
+import ua.com.zmike.userservice.util.AgeUtil;
 
 import javax.validation.ConstraintValidator;
 import javax.validation.ConstraintValidatorContext;
@@ -30,7 +31,6 @@ public class MinAgeValidator implements ConstraintValidator<MinAge, LocalDate> {
 
     private boolean validate(LocalDate birthDate) {
         var now = LocalDate.now();
-        var age = birthDate.until(now).getYears();
-        return birthDate.isBefore(now) && age >= min;
+        return birthDate.isBefore(now) && AgeUtil.getAge(birthDate, now) >= min;
     }
 }
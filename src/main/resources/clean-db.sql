@@ -1,3 +1,3 @@
-TRUNCATE address RESTART IDENTITY CASCADE;
-TRUNCATE users RESTART IDENTITY CASCADE;
-
+-- sequences are not restarted, Hibernate keeps the rest of its last block of ids in memory
+TRUNCATE address CASCADE;
+TRUNCATE users CASCADE;
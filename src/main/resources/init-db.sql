@@ -6,21 +6,40 @@ CREATE SCHEMA IF NOT EXISTS user_service_schema;
 
 SET SCHEMA 'user_service_schema';
 
+CREATE EXTENSION IF NOT EXISTS pg_trgm WITH SCHEMA user_service_schema;
+
+-- address key: fields as stored joined by the unit separator, apartment 0 stands for no apartment;
+-- not normalized, so it agrees with AddressDto.equals and an update can correct the case of an address
+CREATE OR REPLACE FUNCTION address_fingerprint(country VARCHAR, city VARCHAR, street VARCHAR, house_number VARCHAR,
+                                               apt_number INTEGER, zipcode INTEGER)
+    RETURNS CHAR(32)
+    LANGUAGE SQL
+    IMMUTABLE
+AS
+'SELECT md5(country || chr(31) || city || chr(31) || street || chr(31) || house_number || chr(31)
+                || coalesce(apt_number, 0)::TEXT || chr(31) || zipcode::TEXT)';
+
+-- Hibernate allocates ids in blocks of INCREMENT BY (pooled-lo optimizer), allocationSize of the entities must match,
+-- every nextval() of a plain SQL insert reserves a whole block and takes its first id
+CREATE SEQUENCE IF NOT EXISTS address_id_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS users_id_seq INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS address
 (
-    id BIGSERIAL PRIMARY KEY,
+    id BIGINT PRIMARY KEY DEFAULT nextval('address_id_seq'),
     country      VARCHAR(100) NOT NULL,
     city         VARCHAR(100) NOT NULL,
     street       VARCHAR(100) NOT NULL,
     house_number VARCHAR(20)  NOT NULL,
     apt_number   INTEGER,
     zipcode      INTEGER      NOT NULL,
-    UNIQUE (country, city, street, house_number, apt_number, zipcode)
+    fingerprint  CHAR(32)     NOT NULL UNIQUE
+        GENERATED ALWAYS AS (address_fingerprint(country, city, street, house_number, apt_number, zipcode)) STORED
 );
 
 CREATE TABLE IF NOT EXISTS "users"
 (
-    id BIGSERIAL PRIMARY KEY,
+    id BIGINT PRIMARY KEY DEFAULT nextval('users_id_seq'),
     email      VARCHAR(100) NOT NULL UNIQUE,
     first_name VARCHAR(100) NOT NULL,
     last_name  VARCHAR(100) NOT NULL,
@@ -30,3 +49,27 @@ CREATE TABLE IF NOT EXISTS "users"
     FOREIGN KEY (address_id) REFERENCES address (id)
         ON UPDATE CASCADE ON DELETE SET NULL
 );
+
+ALTER SEQUENCE address_id_seq OWNED BY address.id;
+ALTER SEQUENCE users_id_seq OWNED BY users.id;
+
+CREATE INDEX IF NOT EXISTS users_birth_date_id_idx ON users (birth_date, id);
+
+-- indexes of GET /users/search predicates
+CREATE INDEX IF NOT EXISTS users_last_name_prefix_idx ON users (lower(last_name) text_pattern_ops);
+CREATE INDEX IF NOT EXISTS users_email_trgm_idx ON users USING gin (lower(email) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS users_first_name_trgm_idx ON users USING gin (lower(first_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS users_last_name_trgm_idx ON users USING gin (lower(last_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS users_address_id_idx ON users (address_id);
+CREATE INDEX IF NOT EXISTS address_country_city_idx ON address (lower(country), lower(city));
+CREATE INDEX IF NOT EXISTS address_zipcode_idx ON address (zipcode);
+
+-- birthday regardless of year as MMDD number, e.g. 1231 for December 31
+CREATE OR REPLACE FUNCTION birth_month_day(birth_date DATE)
+    RETURNS INTEGER
+    LANGUAGE SQL
+    IMMUTABLE
+AS
+'SELECT (EXTRACT(MONTH FROM birth_date) * 100 + EXTRACT(DAY FROM birth_date))::INTEGER';
+
+CREATE INDEX IF NOT EXISTS users_birth_month_day_id_idx ON users (birth_month_day(birth_date), id);
@@ -0,0 +1,6 @@
+SET SCHEMA 'user_service_schema';
+
+-- only for databases created by init-db.sql before ids were allocated in blocks,
+-- the application doesn't start while INCREMENT BY differs from allocationSize of the entities
+ALTER SEQUENCE users_id_seq INCREMENT BY 50;
+ALTER SEQUENCE address_id_seq INCREMENT BY 50;
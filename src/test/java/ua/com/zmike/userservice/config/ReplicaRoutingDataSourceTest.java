@@ -0,0 +1,137 @@
+package ua.com.zmike.userservice.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaRoutingDataSourceTest {
+
+    private static final long MAX_LAG = 1000;
+
+    @Mock
+    private DataSource primary;
+    @Mock
+    private Connection primaryConnection;
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private DataSource firstReplica;
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private DataSource secondReplica;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() {
+        var replicas = new LinkedHashMap<String, DataSource>();
+        replicas.put("replica-0", firstReplica);
+        replicas.put("replica-1", secondReplica);
+        meterRegistry = new SimpleMeterRegistry();
+        routingDataSource = new ReplicaRoutingDataSource(primary, replicas, MAX_LAG, 1000);
+        routingDataSource.bindTo(meterRegistry);
+        routingDataSource.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void getConnection_shouldRouteReadOnlyTransactionsToReplicasInTurn_whenReplicasKeepUp() throws SQLException {
+        // given
+        givenLag(firstReplica, 0);
+        givenLag(secondReplica, MAX_LAG);
+        routingDataSource.checkReplicas();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // test
+        var first = routingDataSource.getConnection();
+        var second = routingDataSource.getConnection();
+
+        // verify
+        assertThat(first).isSameAs(firstReplica.getConnection());
+        assertThat(second).isSameAs(secondReplica.getConnection());
+        assertThat(countConnections("replica-0")).isEqualTo(1);
+        assertThat(countConnections("replica-1")).isEqualTo(1);
+        assertThat(meterRegistry.get("datasource.replica.available").tag("replica", "replica-0").gauge().value())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void getConnection_shouldRouteToPrimary_whenTransactionNotReadOnly() throws SQLException {
+        // given
+        givenLag(firstReplica, 0);
+        givenLag(secondReplica, 0);
+        routingDataSource.checkReplicas();
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        // test
+        var result = routingDataSource.getConnection();
+
+        // verify
+        assertThat(result).isSameAs(primaryConnection);
+        assertThat(countConnections(ReplicaRoutingDataSource.PRIMARY)).isEqualTo(1);
+    }
+
+    @Test
+    void getConnection_shouldSkipReplica_whenReplicaLagsOrIsNotAvailable() throws SQLException {
+        // given
+        givenLag(firstReplica, MAX_LAG + 1);
+        when(secondReplica.getConnection()).thenThrow(new SQLException("Connection refused"));
+        routingDataSource.checkReplicas();
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // test
+        var result = routingDataSource.getConnection();
+
+        // verify
+        assertThat(result).isSameAs(primaryConnection);
+        assertThat(countConnections(ReplicaRoutingDataSource.PRIMARY)).isEqualTo(1);
+        assertThat(meterRegistry.get("datasource.replica.lag").tag("replica", "replica-0").gauge().value())
+                .isEqualTo(MAX_LAG + 1);
+        assertThat(meterRegistry.get("datasource.replica.lag").tag("replica", "replica-1").gauge().value())
+                .isNaN();
+    }
+
+    @Test
+    void getReadOnlyConnection_shouldUseReplica_whenOutsideOfTransaction() throws SQLException {
+        // given
+        givenLag(firstReplica, 0);
+        givenLag(secondReplica, MAX_LAG + 1);
+        routingDataSource.checkReplicas();
+
+        // test
+        var result = routingDataSource.getReadOnlyConnection();
+
+        // verify
+        assertThat(result).isSameAs(firstReplica.getConnection());
+        verify(result).setReadOnly(true);
+        assertThat(countConnections("replica-0")).isEqualTo(1);
+    }
+
+    private static void givenLag(DataSource replica, double lag) throws SQLException {
+        when(replica.getConnection().createStatement().executeQuery(anyString()).getDouble(1)).thenReturn(lag);
+    }
+
+    private double countConnections(String target) {
+        return meterRegistry.get("datasource.routing.connections").tag("target", target).counter().count();
+    }
+}
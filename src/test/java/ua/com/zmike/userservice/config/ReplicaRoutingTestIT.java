@@ -0,0 +1,117 @@
+package ua.com.zmike.userservice.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import ua.com.zmike.userservice.service.UserService;
+import ua.com.zmike.userservice.testUtil.TestDbManager;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ua.com.zmike.userservice.testUtil.TestEntityFactory.getUserDto;
+
+// the replica is a second database on the same local server, rows differ so the reader is known
+@SpringBootTest(properties = "datasource.replica.urls=" + ReplicaRoutingTestIT.REPLICA_URL)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReplicaRoutingTestIT {
+
+    static final String REPLICA_URL = "jdbc:postgresql://localhost:5432/user_service_replica?currentSchema=user_service_schema";
+
+    private static final String SERVER_URL = "jdbc:postgresql://localhost:5432/postgres";
+    private static final String REPLICA_FIRST_NAME = "Replica";
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ReplicaRoutingDataSource routingDataSource;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TestDbManager dbManager;
+
+    private JdbcTemplate replicaJdbcTemplate;
+
+    @BeforeAll
+    void beforeAll() throws SQLException {
+        try (var connection = DriverManager.getConnection(SERVER_URL, "postgres", "postgres");
+             var statement = connection.createStatement()) {
+            statement.execute("DROP DATABASE IF EXISTS user_service_replica WITH (FORCE)");
+            statement.execute("CREATE DATABASE user_service_replica");
+        }
+        replicaJdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "postgres", "postgres"));
+        executeReplicaScript("init-db.sql");
+        dbManager.initDataBase();
+    }
+
+    @BeforeEach
+    void setUp() {
+        dbManager.fillTables();
+        executeReplicaScript("fill-db.sql");
+        replicaJdbcTemplate.update("UPDATE users SET first_name = ?", REPLICA_FIRST_NAME);
+        routingDataSource.checkReplicas();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dbManager.cleanTables();
+        executeReplicaScript("clean-db.sql");
+    }
+
+    @Test
+    void getAllByIds_shouldReadFromReplica() {
+        // test
+        var result = userService.getAllByIds(List.of(1L));
+
+        // verify
+        assertEquals(REPLICA_FIRST_NAME, result.getUsers().get(0).getFirstName());
+    }
+
+    @Test
+    void updateOne_shouldWriteToPrimary() {
+        // given
+        var userDto = getUserDto();
+        userDto.setFirstName("Updated");
+
+        // test
+        userService.updateOne(1L, userDto);
+
+        // verify
+        assertEquals("Updated", jdbcTemplate.queryForObject("SELECT first_name FROM users WHERE id = 1", String.class));
+        assertTrue(replicaJdbcTemplate.queryForList("SELECT first_name FROM users", String.class).stream()
+                .allMatch(REPLICA_FIRST_NAME::equals));
+    }
+
+    @Test
+    void getOneById_shouldReadFromPrimary_whenUpdateIsNotReplicated() {
+        // given
+        var userDto = getUserDto();
+        userDto.setFirstName("Updated");
+        userService.updateOne(1L, userDto);
+
+        // test
+        var result = userService.getOneById(1L);
+
+        // verify
+        assertEquals("Updated", result.getFirstName());
+    }
+
+    private void executeReplicaScript(String location) {
+        replicaJdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            ScriptUtils.executeSqlScript(connection, new DefaultResourceLoader().getResource(location));
+            return null;
+        });
+    }
+}
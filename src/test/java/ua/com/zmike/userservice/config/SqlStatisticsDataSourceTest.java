@@ -0,0 +1,158 @@
+package ua.com.zmike.userservice.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ua.com.zmike.userservice.service.SlowQueryLogService;
+import ua.com.zmike.userservice.util.SqlStatistics;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SqlStatisticsDataSourceTest {
+
+    private static final String SQL = "SELECT id FROM users";
+
+    @Mock
+    private DataSource targetDataSource;
+    @Mock
+    private Connection connection;
+    @Mock
+    private PreparedStatement statement;
+    @Mock
+    private ResultSet resultSet;
+    @Mock
+    private SlowQueryLogService slowQueryLogService;
+
+    private SqlStatisticsDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        dataSource = new SqlStatisticsDataSource(targetDataSource, slowQueryLogService);
+        when(targetDataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(SQL)).thenReturn(statement);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SqlStatistics.stop();
+    }
+
+    @Test
+    void getConnection_shouldCountConnectionsStatementsAndRows() throws SQLException {
+        // given
+        var statistics = SqlStatistics.start();
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, true, false);
+
+        // test
+        try (var proxyConnection = dataSource.getConnection();
+             var proxyStatement = proxyConnection.prepareStatement(SQL);
+             var proxyResultSet = proxyStatement.executeQuery()) {
+            while (proxyResultSet.next()) {
+                proxyResultSet.getLong(1);
+            }
+            proxyStatement.executeQuery();
+
+            // verify
+            assertThat(proxyStatement.getConnection()).isSameAs(proxyConnection);
+        }
+        assertThat(statistics.getConnections()).isEqualTo(1);
+        assertThat(statistics.getStatements()).isEqualTo(2);
+        assertThat(statistics.getRows()).isEqualTo(2);
+        assertThat(statistics.getStatementNanos()).isPositive();
+        assertThat(statistics.toServerTiming()).contains("desc=\"2 statements, 2 rows\"", "desc=\"1 connections\"");
+    }
+
+    @Test
+    void getConnection_shouldCountFailedStatementAndRethrowItsException() throws SQLException {
+        // given
+        var statistics = SqlStatistics.start();
+        var exception = new SQLException("duplicate key");
+        when(statement.executeUpdate()).thenThrow(exception);
+
+        // test
+        var proxyStatement = dataSource.getConnection().prepareStatement(SQL);
+        var result = assertThrows(SQLException.class, proxyStatement::executeUpdate);
+
+        // verify
+        assertSame(exception, result);
+        assertThat(statistics.getStatements()).isEqualTo(1);
+    }
+
+    @Test
+    void getConnection_shouldPassStatementWithParametersToSlowQueryLog() throws SQLException {
+        // given
+        var recordedParameters = new ArrayList<List<Object>>();
+        doAnswer(invocation -> recordedParameters.add(invocation.<Supplier<List<Object>>>getArgument(1).get()))
+                .when(slowQueryLogService).record(eq(SQL), any(), eq(0), anyLong());
+
+        // test
+        var proxyStatement = dataSource.getConnection().prepareStatement(SQL);
+        proxyStatement.setLong(2, 20L);
+        proxyStatement.setString(1, "first");
+        proxyStatement.executeQuery();
+        proxyStatement.clearParameters();
+        proxyStatement.setNull(1, 0);
+        proxyStatement.executeQuery();
+
+        // verify
+        assertThat(recordedParameters).containsExactly(Arrays.asList("first", 20L), Arrays.asList((Object) null));
+    }
+
+    @Test
+    void getConnection_shouldPassBatchSizeWithoutParametersToSlowQueryLog() throws SQLException {
+        // given
+        var recordedParameters = new ArrayList<List<Object>>();
+        doAnswer(invocation -> recordedParameters.add(invocation.<Supplier<List<Object>>>getArgument(1).get()))
+                .when(slowQueryLogService).record(eq(SQL), any(), anyInt(), anyLong());
+
+        // test
+        var proxyStatement = dataSource.getConnection().prepareStatement(SQL);
+        proxyStatement.setString(1, "first");
+        proxyStatement.addBatch();
+        proxyStatement.setString(1, "second");
+        proxyStatement.addBatch();
+        proxyStatement.executeBatch();
+        proxyStatement.setString(2, "third");
+        proxyStatement.executeUpdate();
+
+        // verify
+        verify(slowQueryLogService).record(eq(SQL), any(), eq(2), anyLong());
+        assertThat(recordedParameters).containsExactly(List.of(), List.of("third"));
+    }
+
+    @Test
+    void getConnection_shouldNotWrapResultSet_whenStatisticsAreNotKept() throws SQLException {
+        // given
+        when(statement.executeQuery()).thenReturn(resultSet);
+
+        // test
+        var result = dataSource.getConnection().prepareStatement(SQL).executeQuery();
+
+        // verify
+        assertSame(resultSet, result);
+    }
+}
@@ -0,0 +1,145 @@
+package ua.com.zmike.userservice.controller;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import ua.com.zmike.userservice.testUtil.TestDbManager;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@Slf4j
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UserControllerLoadTestIT {
+
+    private static final String POOLED = "pooled";
+    private static final String NOT_POOLED = "not pooled";
+
+    private static final int THREADS = 8;
+    private static final int WARM_UP_REQUESTS = 200;
+    private static final int REQUESTS_PER_THREAD = 250;
+
+    // the same GET /users/{id} workload is executed against both data source types,
+    // the users cache is off, so every request reads from the data source
+    private final Map<String, Double> throughput = new ConcurrentHashMap<>();
+
+    @AfterAll
+    void compareThroughput() {
+        log.info("GET /users/{id} throughput, req/s: {}", throughput);
+        assertThat(throughput).containsKeys(POOLED, NOT_POOLED);
+        assertThat(throughput.get(POOLED)).isGreaterThan(throughput.get(NOT_POOLED));
+    }
+
+    @Nested
+    @SpringBootTest(properties = {
+            "spring.datasource.type=com.zaxxer.hikari.HikariDataSource",
+            "spring.cache.type=none"})
+    @ActiveProfiles("test")
+    @AutoConfigureMockMvc
+    @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+    class PooledDataSource extends GetUserByIdLoad {
+
+        PooledDataSource() {
+            super(POOLED);
+        }
+    }
+
+    @Nested
+    @SpringBootTest(properties = {
+            "spring.datasource.type=org.springframework.jdbc.datasource.DriverManagerDataSource",
+            "spring.cache.type=none"})
+    @ActiveProfiles("test")
+    @AutoConfigureMockMvc
+    @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+    class NotPooledDataSource extends GetUserByIdLoad {
+
+        NotPooledDataSource() {
+            super(NOT_POOLED);
+        }
+    }
+
+    abstract class GetUserByIdLoad {
+
+        private final String name;
+
+        @Autowired
+        private MockMvc mockMvc;
+        @Autowired
+        private TestDbManager dbManager;
+
+        GetUserByIdLoad(String name) {
+            this.name = name;
+        }
+
+        @BeforeAll
+        void beforeAll() {
+            dbManager.initDataBase();
+            dbManager.fillTables();
+        }
+
+        @AfterAll
+        void afterAll() {
+            dbManager.cleanTables();
+        }
+
+        @Test
+        void getUserById_throughput() throws Exception {
+            // given
+            for (int i = 0; i < WARM_UP_REQUESTS; i++) {
+                getUser(i);
+            }
+
+            var executor = Executors.newFixedThreadPool(THREADS);
+            var tasks = new ArrayList<Callable<Void>>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                tasks.add(() -> {
+                    for (int i = 0; i < REQUESTS_PER_THREAD; i++) {
+                        getUser(i);
+                    }
+                    return null;
+                });
+            }
+
+            // test
+            var start = System.nanoTime();
+            try {
+                for (Future<Void> future : executor.invokeAll(tasks)) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+            var elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000d;
+
+            // verify
+            throughput.put(name, THREADS * REQUESTS_PER_THREAD / elapsedSeconds);
+        }
+
+        private void getUser(int i) throws Exception {
+            // db contain 5 users
+            var response = mockMvc
+                    .perform(get("/users/{id}", i % 5 + 1)
+                            .accept(MediaType.APPLICATION_JSON))
+                    .andReturn()
+                    .getResponse();
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        }
+    }
+}
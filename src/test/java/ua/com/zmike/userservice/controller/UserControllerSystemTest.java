@@ -19,12 +19,15 @@ import ua.com.zmike.userservice.dto.AddressDto;
 import ua.com.zmike.userservice.exception.IncorrectValueException;
 import ua.com.zmike.userservice.exception.TargetNotFoundException;
 import ua.com.zmike.userservice.testUtil.TestDbManager;
+import ua.com.zmike.userservice.util.CursorUtil;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
@@ -40,7 +43,7 @@ import static ua.com.zmike.userservice.testUtil.TestEntityFactory.getUserDto;
 class UserControllerSystemTest {
 
     private static final Long FIRST_ENTITY_ID = 1L;
-    private static final Long NEW_ENTITY_ID = 6L;
+    private static final Long LAST_ENTITY_ID = 5L;
 
     private ObjectMapper mapper;
 
@@ -157,6 +160,82 @@ class UserControllerSystemTest {
         assertTrue(response.getContentAsString().contains(exceptionText));
     }
 
+    @Test
+    void getUsersPageByBirthDateRange_shouldReturnFirstPageWithNextCursor_whenMoreUsersThanLimitExistInDB()
+            throws Exception {
+        // given
+        var from = "2000-01-01";
+        var to = "2003-01-01";
+
+        var foundUserDto = getUserDto(FIRST_ENTITY_ID);
+        foundUserDto.setAddressDto(getAddressDto(FIRST_ENTITY_ID));
+        var expectedContent = mapper.writeValueAsString(List.of(foundUserDto));
+        var expectedNext = CursorUtil.encode(foundUserDto.getBirthDate(), FIRST_ENTITY_ID);
+
+        // test
+        var response = mockMvc
+                .perform(get("/users")
+                        .param("from", from)
+                        .param("to", to)
+                        .param("limit", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andReturn()
+                .getResponse();
+
+        // verify
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.getContentAsString())
+                .isEqualTo(String.format("{\"content\":%s,\"next\":\"%s\"}", expectedContent, expectedNext));
+    }
+
+    @Test
+    void getUsersPageByBirthDateRange_shouldReturnExceptionDto_whenLimitNotValid() throws Exception {
+        // given
+        var from = "2000-01-01";
+        var to = "2003-01-01";
+
+        // test
+        var response = mockMvc
+                .perform(get("/users")
+                        .param("from", from)
+                        .param("to", to)
+                        .param("limit", "0")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andReturn()
+                .getResponse();
+
+        // verify
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+        assertTrue(response.getContentAsString().contains("CONSTRAINT_VIOLATION"));
+    }
+
+    @Test
+    void exportUsersByBirthDateRange_shouldStreamAllUsersOneJsonDocumentPerLine() throws Exception {
+        // given
+        var from = "2000-01-01";
+        var to = "2003-01-01";
+
+        // test
+        var asyncResult = mockMvc
+                .perform(get("/users/export")
+                        .param("from", from)
+                        .param("to", to)
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andReturn();
+        var response = mockMvc
+                .perform(asyncDispatch(asyncResult))
+                .andReturn()
+                .getResponse();
+
+        // verify
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        var lines = response.getContentAsString().split("\n");
+        assertThat(lines).hasSize(5);
+        for (int i = 0; i < lines.length; i++) {
+            assertThat(mapper.readTree(lines[i]).get("id").asLong()).isEqualTo(i + 1L);
+        }
+    }
+
     @Test
     void getUserById_shouldReturnUserDto() throws Exception {
         // given
@@ -207,10 +286,9 @@ class UserControllerSystemTest {
         var incomingUserDto = getUserDto();
         incomingUserDto.setEmail(email);
 
-        var createdUser = getUserDto(NEW_ENTITY_ID);
+        var createdUser = getUserDto();
         createdUser.setAddressDto(getAddressDto(FIRST_ENTITY_ID));
         createdUser.setEmail(email);
-        var expectedResponse = mapper.writeValueAsString(createdUser);
 
         // test
         var response = mockMvc
@@ -222,8 +300,11 @@ class UserControllerSystemTest {
                 .getResponse();
 
         // verify
+        // ids are allocated in blocks, a new user gets an id past the filled ones, not the next one
+        createdUser.setId(mapper.readTree(response.getContentAsString()).get("id").asLong());
         assertThat(response.getStatus()).isEqualTo(HttpStatus.CREATED.value());
-        assertThat(response.getContentAsString()).isEqualTo(expectedResponse);
+        assertThat(createdUser.getId()).isGreaterThan(LAST_ENTITY_ID);
+        assertThat(response.getContentAsString()).isEqualTo(mapper.writeValueAsString(createdUser));
     }
 
     @Test
@@ -240,14 +321,12 @@ class UserControllerSystemTest {
         incomingUserDto.setEmail(email);
         incomingUserDto.setAddressDto(newAddress);
 
-        var createdAddressDto = getAddressDto(NEW_ENTITY_ID);
+        var createdAddressDto = getAddressDto();
         createdAddressDto.setCountry(someCountry);
-        var createdUser = getUserDto(NEW_ENTITY_ID);
+        var createdUser = getUserDto();
         createdUser.setAddressDto(createdAddressDto);
         createdUser.setEmail(email);
 
-        var expectedResponse = mapper.writeValueAsString(createdUser);
-
         // test
         var response = mockMvc
                 .perform(post("/users")
@@ -258,8 +337,13 @@ class UserControllerSystemTest {
                 .getResponse();
 
         // verify
+        var createdJson = mapper.readTree(response.getContentAsString());
+        createdUser.setId(createdJson.get("id").asLong());
+        createdAddressDto.setId(createdJson.get("addressDto").get("id").asLong());
         assertThat(response.getStatus()).isEqualTo(HttpStatus.CREATED.value());
-        assertThat(response.getContentAsString()).isEqualTo(expectedResponse);
+        assertThat(createdUser.getId()).isGreaterThan(LAST_ENTITY_ID);
+        assertThat(createdAddressDto.getId()).isGreaterThan(LAST_ENTITY_ID);
+        assertThat(response.getContentAsString()).isEqualTo(mapper.writeValueAsString(createdUser));
     }
 
     @Test
@@ -422,13 +506,11 @@ class UserControllerSystemTest {
         var incomingUserDto = getUserDto();
         incomingUserDto.setAddressDto(incomingAddressDto);
 
-        var addressDto = getAddressDto(NEW_ENTITY_ID);
+        var addressDto = getAddressDto();
         addressDto.setCountry(someCountry);
         var createdUser = getUserDto(incomingId);
         createdUser.setAddressDto(addressDto);
 
-        var expectedResponse = mapper.writeValueAsString(createdUser);
-
         // test
         var response = mockMvc
                 .perform(patch("/users/{id}", incomingId)
@@ -439,8 +521,10 @@ class UserControllerSystemTest {
                 .getResponse();
 
         // verify
+        addressDto.setId(mapper.readTree(response.getContentAsString()).get("addressDto").get("id").asLong());
         assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
-        assertThat(response.getContentAsString()).isEqualTo(expectedResponse);
+        assertThat(addressDto.getId()).isGreaterThan(LAST_ENTITY_ID);
+        assertThat(response.getContentAsString()).isEqualTo(mapper.writeValueAsString(createdUser));
     }
 
     @Test()
@@ -2,27 +2,49 @@ package ua.com.zmike.userservice.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import ua.com.zmike.userservice.dto.BatchItemResultDto;
+import ua.com.zmike.userservice.dto.PageDto;
+import ua.com.zmike.userservice.dto.UserDto;
+import ua.com.zmike.userservice.dto.UserSearchCriteria;
+import ua.com.zmike.userservice.dto.UsersByIdsDto;
+import ua.com.zmike.userservice.exception.TargetNotFoundException;
+import ua.com.zmike.userservice.service.UserBatchService;
 import ua.com.zmike.userservice.service.UserService;
+import ua.com.zmike.userservice.util.SingleFlight;
 
 import java.time.LocalDate;
+import java.time.MonthDay;
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.only;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
@@ -45,6 +67,25 @@ class UserControllerTest {
 
     @MockBean
     private UserService userService;
+    @MockBean
+    private UserBatchService userBatchService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @TestConfiguration
+    static class MetricsTestConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        SingleFlight<Long, UserDto> userLookupSingleFlight(MeterRegistry meterRegistry) {
+            return new SingleFlight<>(meterRegistry.counter("users.lookup.collapsed"));
+        }
+    }
 
     @BeforeAll
     static void beforeAll() {
@@ -104,6 +145,289 @@ class UserControllerTest {
         verify(userService, only()).getAllByBirthDateRange(LocalDate.parse(from), LocalDate.parse(to));
     }
 
+    @Test
+    void getUsersPageByBirthDateRange_shouldReturnPage_whenLimitIsPresent() throws Exception {
+        // given
+        var from = "2000-01-01";
+        var to = "2005-01-01";
+        var limit = 1;
+        var next = "cursor";
+        var result = PageDto.<UserDto>builder()
+                .content(List.of(getUserDto(FIRST_ENTITY_ID)))
+                .next("nextCursor")
+                .build();
+        var expectedResponse = mapper.writeValueAsString(result);
+
+        when(userService
+                .getPageByBirthDateRange(LocalDate.parse(from), LocalDate.parse(to), limit, next))
+                .thenReturn(result);
+
+        // test
+        var response = mockMvc
+                .perform(get("/users")
+                        .param("from", from)
+                        .param("to", to)
+                        .param("limit", String.valueOf(limit))
+                        .param("next", next)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andReturn()
+                .getResponse();
+
+        // verify
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.getContentAsString()).isEqualTo(expectedResponse);
+        verify(userService, only()).getPageByBirthDateRange(LocalDate.parse(from), LocalDate.parse(to), limit, next);
+    }
+
+    @Test
+    void searchUsers_shouldPassPresentCriteria() throws Exception {
+        // given
+        var limit = 10;
+        var criteria = UserSearchCriteria.builder()
+                .city("City1")
+                .lastNamePrefix("Us")
+                .birthDateFrom(LocalDate.parse("2000-01-01"))
+                .build();
+        var result = PageDto.<UserDto>builder()
+                .content(List.of(getUserDto(FIRST_ENTITY_ID)))
+                .build();
+        var expectedResponse = mapper.writeValueAsString(result);
+
+        when(userService
+                .search(criteria, limit, null))
+                .thenReturn(result);
+
+        // test
+        var response = mockMvc
+                .perform(get("/users/search")
+                        .param("city", "City1")
+                        .param("lastName", "Us")
+                        .param("from", "2000-01-01")
+                        .param("limit", String.valueOf(limit))
+                        .accept(MediaType.APPLICATION_JSON))
+                .andReturn()
+                .getResponse();
+
+        // verify
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.getContentAsString()).isEqualTo(expectedResponse);
+        verify(userService, only()).search(criteria, limit, null);
+    }
+
+    @Test
+    void getUsersByIds_shouldReturnFoundUsersAndMissingIds() throws Exception {
+        // given
+        var result = UsersByIdsDto.builder()
+                .users(List.of(getUserDto(FIRST_ENTITY_ID)))
+                .missingIds(List.of(1000L))
+                .build();
+        var expectedResponse = mapper.writeValueAsString(result);
+
+        when(userService
+                .getAllByIds(List.of(FIRST_ENTITY_ID, 1000L)))
+                .thenReturn(result);
+
+        // test
+        var response = mockMvc
+                .perform(get("/users")
+                        .param("ids", "1,1000")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andReturn()
+                .getResponse();
+
+        // verify
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.getContentAsString()).isEqualTo(expectedResponse);
+        verify(userService, only()).getAllByIds(List.of(FIRST_ENTITY_ID, 1000L));
+    }
+
+    @Test
+    void getUsersByIds_shouldReturnUsersByIds_whenLimitIsPassedToo() throws Exception {
+        // given
+        var result = UsersByIdsDto.builder()
+                .users(List.of(getUserDto(FIRST_ENTITY_ID)))
+                .missingIds(List.of())
+                .build();
+
+        when(userService
+                .getAllByIds(List.of(FIRST_ENTITY_ID)))
+                .thenReturn(result);
+
+        // test
+        var response = mockMvc
+                .perform(get("/users")
+                        .param("ids", "1")
+                        .param("limit", "10")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andReturn()
+                .getResponse();
+
+        // verify
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.getContentAsString()).isEqualTo(mapper.writeValueAsString(result));
+        verify(userService, only()).getAllByIds(List.of(FIRST_ENTITY_ID));
+    }
+
+    @Test
+    void getUsersByIds_shouldReturnExceptionDto_whenTooManyIds() throws Exception {
+        // given
+        var ids = LongStream.rangeClosed(1, 501)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.joining(","));
+
+        // test
+        var response = mockMvc
+                .perform(get("/users")
+                        .param("ids", ids)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andReturn()
+                .getResponse();
+
+        // verify
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    void searchUsersByText_shouldReturnRankedUsers() throws Exception {
+        // given
+        var result = List.of(getUserDto(FIRST_ENTITY_ID));
+        var expectedResponse = mapper.writeValueAsString(result);
+
+        when(userService
+                .searchByText("user", 20))
+                .thenReturn(result);
+
+        // test
+        var response = mockMvc
+                .perform(get("/users/search")
+                        .param("q", "user")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andReturn()
+                .getResponse();
+
+        // verify
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.getContentAsString()).isEqualTo(expectedResponse);
+        verify(userService, only()).searchByText("user", 20);
+    }
+
+    @Test
+    void searchUsersByText_shouldReturnExceptionDto_whenTextTooShort() throws Exception {
+        // test
+        var response = mockMvc
+                .perform(get("/users/search")
+                        .param("q", "us")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andReturn()
+                .getResponse();
+
+        // verify
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    void getUsersPageByAgeRange_shouldReturnPage_whenAgesArePresent() throws Exception {
+        // given
+        var minAge = 18;
+        var maxAge = 30;
+        var limit = 10;
+        var result = PageDto.<UserDto>builder()
+                .content(List.of(getUserDto(FIRST_ENTITY_ID)))
+                .build();
+        var expectedResponse = mapper.writeValueAsString(result);
+
+        when(userService
+                .getPageByAgeRange(minAge, maxAge, limit, null))
+                .thenReturn(result);
+
+        // test
+        var response = mockMvc
+                .perform(get("/users")
+                        .param("minAge", String.valueOf(minAge))
+                        .param("maxAge", String.valueOf(maxAge))
+                        .param("limit", String.valueOf(limit))
+                        .accept(MediaType.APPLICATION_JSON))
+                .andReturn()
+                .getResponse();
+
+        // verify
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.getContentAsString()).isEqualTo(expectedResponse);
+        verify(userService, only()).getPageByAgeRange(minAge, maxAge, limit, null);
+    }
+
+    @Test
+    void getUsersPageByBirthdayRange_shouldReturnPage_whenRangeWrapsOverYearEnd() throws Exception {
+        // given
+        var from = "12-30";
+        var to = "01-05";
+        var limit = 1;
+        var result = PageDto.<UserDto>builder()
+                .content(List.of(getUserDto(FIRST_ENTITY_ID)))
+                .next("nextCursor")
+                .build();
+        var expectedResponse = mapper.writeValueAsString(result);
+
+        when(userService
+                .getPageByBirthdayRange(MonthDay.of(12, 30), MonthDay.of(1, 5), limit, null))
+                .thenReturn(result);
+
+        // test
+        var response = mockMvc
+                .perform(get("/users/birthdays")
+                        .param("from", from)
+                        .param("to", to)
+                        .param("limit", String.valueOf(limit))
+                        .accept(MediaType.APPLICATION_JSON))
+                .andReturn()
+                .getResponse();
+
+        // verify
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.getContentAsString()).isEqualTo(expectedResponse);
+        verify(userService, only()).getPageByBirthdayRange(MonthDay.of(12, 30), MonthDay.of(1, 5), limit, null);
+    }
+
+    @Test
+    void exportUsersByBirthDateRange_shouldStreamOneJsonDocumentPerLine() throws Exception {
+        // given
+        var from = "2000-01-01";
+        var to = "2005-01-01";
+        var firstUser = getUserDto(FIRST_ENTITY_ID);
+        var secondUser = getUserDto(NEW_ENTITY_ID);
+        var expectedResponse = mapper.writeValueAsString(firstUser) + "\n" + mapper.writeValueAsString(secondUser) + "\n";
+
+        doAnswer(invocation -> {
+            Consumer<UserDto> consumer = invocation.getArgument(2);
+            consumer.accept(firstUser);
+            consumer.accept(secondUser);
+            return null;
+        })
+                .when(userService)
+                .exportAllByBirthDateRange(eq(LocalDate.parse(from)), eq(LocalDate.parse(to)), any());
+
+        // test
+        var asyncResult = mockMvc
+                .perform(get("/users/export")
+                        .param("from", from)
+                        .param("to", to)
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andReturn();
+        var response = mockMvc
+                .perform(asyncDispatch(asyncResult))
+                .andReturn()
+                .getResponse();
+
+        // verify
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.getContentType()).isEqualTo(MediaType.APPLICATION_NDJSON_VALUE);
+        assertThat(response.getContentAsString()).isEqualTo(expectedResponse);
+        verify(userService, only())
+                .exportAllByBirthDateRange(eq(LocalDate.parse(from)), eq(LocalDate.parse(to)), any());
+    }
+
     @Test
     void getUserById_shouldReturnUserDto() throws Exception {
         // given
@@ -129,6 +453,30 @@ class UserControllerTest {
         verify(userService, only()).getOneById(incomingId);
     }
 
+    @Test
+    void getUserById_shouldReturnExceptionDtoAndCountError_whenUserNotFound() throws Exception {
+        // given
+        var incomingId = 1000L;
+        var errors = meterRegistry.counter("errors", "code", "TARGET_NOT_FOUND_BY");
+        var errorsBefore = errors.count();
+
+        when(userService
+                .getOneById(incomingId))
+                .thenThrow(new TargetNotFoundException("User", "id", incomingId));
+
+        // test
+        var response = mockMvc
+                .perform(get("/users/{id}", incomingId)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andReturn()
+                .getResponse();
+
+        // verify
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.NOT_FOUND.value());
+        assertThat(errors.count()).isEqualTo(errorsBefore + 1);
+        verify(userService, only()).getOneById(incomingId);
+    }
+
     @Test
     void createUser_shouldReturnUserDto() throws Exception {
         // given
@@ -155,6 +503,52 @@ class UserControllerTest {
         verify(userService, only()).addOne(incomingUserDto);
     }
 
+    @Test
+    void createUsersBatch_shouldReturnResultForEveryUser() throws Exception {
+        // given
+        var incomingUsers = List.of(getUserDto(), getUserDto());
+        var result = List.of(
+                BatchItemResultDto.builder().index(0).status(BatchItemResultDto.Status.CREATED).id(NEW_ENTITY_ID).build(),
+                BatchItemResultDto.builder().index(1).status(BatchItemResultDto.Status.DUPLICATE)
+                        .message("Email 'User1@gmail.com' is repeated in the batch").build());
+        var expectedResponse = mapper.writeValueAsString(result);
+
+        when(userBatchService
+                .addAll(incomingUsers))
+                .thenReturn(result);
+
+        // test
+        var response = mockMvc
+                .perform(post("/users/batch")
+                        .content(mapper.writeValueAsString(incomingUsers))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andReturn()
+                .getResponse();
+
+        // verify
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.getContentAsString()).isEqualTo(expectedResponse);
+        verify(userBatchService, only()).addAll(incomingUsers);
+    }
+
+    @Test
+    void createUsersBatch_shouldReturnExceptionDto_whenBatchIsEmpty() throws Exception {
+        // test
+        var response = mockMvc
+                .perform(post("/users/batch")
+                        .content("[]")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andReturn()
+                .getResponse();
+
+        // verify
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+        assertThat(response.getContentAsString()).contains("CONSTRAINT_VIOLATION");
+        verifyNoInteractions(userBatchService);
+    }
+
     @Test
     void updateUser_shouldReturnUserDto() throws Exception {
         // given
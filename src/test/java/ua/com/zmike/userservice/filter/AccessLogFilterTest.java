@@ -0,0 +1,109 @@
+package ua.com.zmike.userservice.filter;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import ua.com.zmike.userservice.dto.AccessLogDto;
+import ua.com.zmike.userservice.service.AccessLogService;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static ua.com.zmike.userservice.filter.AccessLogFilter.MASK;
+
+@ExtendWith(MockitoExtension.class)
+class AccessLogFilterTest {
+
+    @Mock
+    private AccessLogService accessLogService;
+    @Captor
+    private ArgumentCaptor<AccessLogDto> entryCaptor;
+
+    @Test
+    void doFilter_shouldOfferEntryWithMaskedParameters() throws Exception {
+        // given
+        var filter = new AccessLogFilter(accessLogService, 1, Map.of(), Set.of("lastName", "q"));
+        var request = new MockHttpServletRequest("GET", "/users/search");
+        request.setQueryString("lastName=Jonson&limit=10&q=bor");
+
+        // test
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // verify
+        verify(accessLogService).offer(entryCaptor.capture());
+        var entry = entryCaptor.getValue();
+        assertThat(entry.getMethod()).isEqualTo("GET");
+        assertThat(entry.getUri()).isEqualTo("/users/search");
+        assertThat(entry.getQuery()).isEqualTo("lastName=" + MASK + "&limit=10&q=" + MASK);
+        assertThat(entry.getStatus()).isEqualTo(200);
+        assertThat(entry.getDurationMillis()).isNotNegative();
+    }
+
+    @Test
+    void doFilter_shouldSkipEntry_whenNotSampled() throws Exception {
+        // given
+        var filter = new AccessLogFilter(accessLogService, 1, Map.of("none", 0d), Set.of());
+
+        // test
+        filter.doFilter(new MockHttpServletRequest("GET", "/users/1"), new MockHttpServletResponse(),
+                new MockFilterChain());
+
+        // verify
+        verifyNoInteractions(accessLogService);
+    }
+
+    @Test
+    void doFilter_shouldOfferEntry_whenServerErrorNotSampled() throws Exception {
+        // given
+        var filter = new AccessLogFilter(accessLogService, 0, Map.of(), Set.of());
+        var response = new MockHttpServletResponse();
+        var chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) {
+                resp.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            }
+        });
+
+        // test
+        filter.doFilter(new MockHttpServletRequest("GET", "/users/1"), response, chain);
+
+        // verify
+        verify(accessLogService).offer(entryCaptor.capture());
+        assertThat(entryCaptor.getValue().getStatus()).isEqualTo(500);
+    }
+
+    @Test
+    void doFilter_shouldOfferServerErrorAndRethrow_whenChainThrowsNotSampled() {
+        // given
+        var filter = new AccessLogFilter(accessLogService, 0, Map.of(), Set.of());
+        var exception = new IllegalStateException("Handler failed");
+        var chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) {
+                throw exception;
+            }
+        });
+
+        // test
+        var result = assertThrows(IllegalStateException.class, () -> filter.doFilter(
+                new MockHttpServletRequest("GET", "/users/1"), new MockHttpServletResponse(), chain));
+
+        // verify
+        assertThat(result).isSameAs(exception);
+        verify(accessLogService).offer(entryCaptor.capture());
+        assertThat(entryCaptor.getValue().getStatus()).isEqualTo(500);
+    }
+}
@@ -0,0 +1,75 @@
+package ua.com.zmike.userservice.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import ua.com.zmike.userservice.controller.UserController;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static ua.com.zmike.userservice.filter.RequestAllocationFilter.REQUEST_ALLOCATION;
+import static ua.com.zmike.userservice.filter.RequestAllocationFilter.REQUEST_CPU;
+
+class RequestAllocationFilterTest {
+
+    private static final int ALLOCATED_BYTES = 1_000_000;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RequestAllocationFilter filter =
+            new RequestAllocationFilter(ManagementFactory.getThreadMXBean(), meterRegistry);
+
+    @Test
+    void doFilter_shouldRecordAllocationAndCpuByRoute_whenHandledByUserController() throws Exception {
+        // given
+        var handler = getUserControllerHandler();
+        var chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) {
+                req.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, handler);
+                req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/users/{id}");
+                var allocation = new ArrayList<byte[]>();
+                allocation.add(new byte[ALLOCATED_BYTES]);
+            }
+        });
+
+        // test
+        filter.doFilter(new MockHttpServletRequest("GET", "/users/1"), new MockHttpServletResponse(), chain);
+
+        // verify
+        var allocation = meterRegistry.get(REQUEST_ALLOCATION)
+                .tags("method", "GET", "uri", "/users/{id}", "handler", "getUserById")
+                .summary();
+        assertThat(allocation.count()).isEqualTo(1);
+        assertThat(allocation.totalAmount()).isGreaterThanOrEqualTo(ALLOCATED_BYTES);
+        assertThat(meterRegistry.get(REQUEST_CPU).tag("handler", "getUserById").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void doFilter_shouldNotRecord_whenNotHandledByUserController() throws Exception {
+        // test
+        filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), new MockHttpServletResponse(),
+                new MockFilterChain());
+
+        // verify
+        assertThat(meterRegistry.find(REQUEST_ALLOCATION).meters()).isEmpty();
+        assertThat(meterRegistry.find(REQUEST_CPU).meters()).isEmpty();
+    }
+
+    private static HandlerMethod getUserControllerHandler() throws NoSuchMethodException {
+        var beanFactory = mock(BeanFactory.class);
+        doReturn(UserController.class).when(beanFactory).getType("userController");
+        return new HandlerMethod("userController", beanFactory, UserController.class.getMethod("getUserById", Long.class));
+    }
+}
@@ -0,0 +1,67 @@
+package ua.com.zmike.userservice.filter;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import ua.com.zmike.userservice.util.SqlStatistics;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ua.com.zmike.userservice.filter.ServerTimingFilter.SERVER_TIMING_HEADER;
+
+class ServerTimingFilterTest {
+
+    private final ServerTimingFilter filter = new ServerTimingFilter();
+
+    @Test
+    void doFilter_shouldAddServerTimingBeforeBodyIsWritten() throws Exception {
+        // given
+        var request = new MockHttpServletRequest("GET", "/users/1");
+        var response = new MockHttpServletResponse();
+        var chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                SqlStatistics.current().orElseThrow().addStatement(2_000_000);
+                SqlStatistics.current().orElseThrow().addRowFetch(500_000, true);
+                resp.getWriter().write("{}");
+                resp.flushBuffer();
+                // work after the body is written can't get into the header any more
+                SqlStatistics.current().orElseThrow().addStatement(1_000_000);
+            }
+        });
+
+        // test
+        filter.doFilter(request, response, chain);
+
+        // verify
+        assertThat(response.getHeaders(SERVER_TIMING_HEADER)).containsExactly(
+                "db;dur=2.500;desc=\"1 statements, 1 rows\", db-connection;dur=0.000;desc=\"0 connections\"");
+        assertThat(SqlStatistics.current()).isEmpty();
+    }
+
+    @Test
+    void doFilter_shouldAddServerTiming_whenResponseHasNoBody() throws Exception {
+        // given
+        var request = new MockHttpServletRequest("DELETE", "/users/1");
+        var response = new MockHttpServletResponse();
+        var chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doDelete(HttpServletRequest req, HttpServletResponse resp) {
+                SqlStatistics.current().orElseThrow().addConnection(300_000);
+                SqlStatistics.current().orElseThrow().addStatement(1_000_000);
+            }
+        });
+
+        // test
+        filter.doFilter(request, response, chain);
+
+        // verify
+        assertThat(response.getHeader(SERVER_TIMING_HEADER)).isEqualTo(
+                "db;dur=1.000;desc=\"1 statements, 0 rows\", db-connection;dur=0.300;desc=\"1 connections\"");
+    }
+}
@@ -0,0 +1,100 @@
+package ua.com.zmike.userservice.repository;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.com.zmike.userservice.service.AddressService;
+import ua.com.zmike.userservice.testUtil.TestDbManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ua.com.zmike.userservice.config.CacheConfig.ADDRESS_LOOKUP_REGION;
+import static ua.com.zmike.userservice.config.CacheConfig.ADDRESS_REGION;
+import static ua.com.zmike.userservice.testUtil.TestEntityFactory.getAddressDto;
+
+// every call runs in its own transaction, so only the second-level cache can spare a statement
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AddressCacheTestIT {
+
+    private static final Long FIRST_ENTITY_ID = 1L;
+
+    @Autowired
+    private AddressRepository addressRepository;
+    @Autowired
+    private AddressService addressService;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private SessionFactory sessionFactory;
+    @Autowired
+    private TestDbManager dbManager;
+
+    private Statistics statistics;
+
+    @BeforeAll
+    void beforeAll() {
+        dbManager.initDataBase();
+        statistics = sessionFactory.getStatistics();
+    }
+
+    @BeforeEach
+    void setUp() {
+        dbManager.fillTables();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dbManager.cleanTables();
+    }
+
+    @Test
+    void findById_shouldReadAddressFromCache_whenAddressLoadedBefore() {
+        // test
+        transactionTemplate.execute(status -> addressRepository.findById(FIRST_ENTITY_ID));
+        var result = transactionTemplate.execute(status -> addressRepository.findById(FIRST_ENTITY_ID));
+
+        // verify
+        assertThat(result).isPresent();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getDomainDataRegionStatistics(ADDRESS_REGION).getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void resolveOrCreate_shouldReadLookupFromCache_whenAddressResolvedBefore() {
+        // given
+        var addressDto = getAddressDto();
+
+        // test
+        addressService.resolveOrCreate(addressDto);
+        var result = addressService.resolveOrCreate(addressDto);
+
+        // verify
+        assertThat(result.getId()).isEqualTo(FIRST_ENTITY_ID);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getQueryRegionStatistics(ADDRESS_LOOKUP_REGION).getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findByFingerprint_shouldFindCreatedAddress_whenNotFoundBefore() {
+        // given
+        var addressDto = getAddressDto();
+        addressDto.setCountry("NewCountry");
+        transactionTemplate.execute(status -> addressService.findByFingerprint(addressDto));
+
+        // test
+        var createdAddress = addressService.resolveOrCreate(addressDto);
+        var result = transactionTemplate.execute(status -> addressService.findByFingerprint(addressDto));
+
+        // verify
+        assertThat(result).isPresent();
+        assertThat(result.get().getId()).isEqualTo(createdAddress.getId());
+    }
+}
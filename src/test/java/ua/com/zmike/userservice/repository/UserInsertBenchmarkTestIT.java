@@ -0,0 +1,99 @@
+package ua.com.zmike.userservice.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.com.zmike.userservice.model.User;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// the sequences of init-db.sql step by 50, so Hibernate uses the pooled-lo optimizer
+@Slf4j
+@SpringBootTest(properties = {
+        "spring.sql.init.mode=always",
+        "spring.sql.init.schema-locations=classpath:init-db.sql"})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UserInsertBenchmarkTestIT {
+
+    private static final String IDENTITY = "identity, row by row";
+    private static final String POOLED_SEQUENCE = "pooled sequence, jdbc batch";
+
+    private static final int USERS = 5000;
+    private static final String INSERT_RETURNING_ID_SQL = "INSERT INTO users (email, first_name, last_name, phone, birth_date) "
+            + "VALUES (?, ?, ?, ?, ?) RETURNING id";
+
+    private final Map<String, Double> throughput = new ConcurrentHashMap<>();
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterAll
+    void compareThroughput() {
+        log.info("Insert of {} users throughput, rows/s: {}", USERS, throughput);
+        assertThat(throughput).containsKeys(IDENTITY, POOLED_SEQUENCE);
+        assertThat(throughput.get(POOLED_SEQUENCE)).isGreaterThan(throughput.get(IDENTITY));
+    }
+
+    @Test
+    void insert_identityRowByRow() {
+        // given
+        var users = getUsers("identity");
+
+        // test
+        // the way Hibernate inserts IDENTITY entities: one statement and generated key read back per row
+        var start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> users.forEach(user -> jdbcTemplate.queryForObject(
+                INSERT_RETURNING_ID_SQL, Long.class, user.getEmail(), user.getFirstName(), user.getLastName(),
+                user.getPhoneNumber(), user.getBirthDate())));
+        var elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000d;
+
+        // verify
+        throughput.put(IDENTITY, USERS / elapsedSeconds);
+    }
+
+    @Test
+    void insert_pooledSequence() {
+        // given
+        var users = getUsers("pooled");
+
+        // test
+        var start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> userRepository.saveAll(users));
+        var elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000d;
+
+        // verify
+        assertThat(users).allMatch(user -> user.getId() != null);
+        assertThat(users.stream().map(User::getId).distinct().count()).isEqualTo(USERS);
+        throughput.put(POOLED_SEQUENCE, USERS / elapsedSeconds);
+    }
+
+    private static List<User> getUsers(String prefix) {
+        return IntStream.range(0, USERS)
+                .mapToObj(i -> {
+                    var user = new User();
+                    user.setEmail(String.format("%s%d@gmail.com", prefix, i));
+                    user.setFirstName("User" + i);
+                    user.setLastName("User" + i);
+                    user.setPhoneNumber("1234567890");
+                    user.setBirthDate(LocalDate.parse("2000-02-02"));
+                    return user;
+                })
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,87 @@
+package ua.com.zmike.userservice.repository;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ua.com.zmike.userservice.dto.UserDto;
+import ua.com.zmike.userservice.service.UserService;
+import ua.com.zmike.userservice.testUtil.TestDbManager;
+import ua.com.zmike.userservice.util.SqlStatistics;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.util.Collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// every user has its own address, so a per-address select would show up as USERS extra statements
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UserQueryCountTestIT {
+
+    private static final int USERS = 1000;
+    private static final LocalDate BIRTH_DATE = LocalDate.parse("2000-02-02");
+
+    private static final String INSERT_ADDRESSES_SQL = "INSERT INTO address (country, city, street, house_number, apt_number, zipcode) "
+            + "SELECT 'Country', 'City' || i, 'Street', i::TEXT, i, i FROM generate_series(1, ?) i";
+    private static final String INSERT_USERS_SQL = "INSERT INTO users (email, first_name, last_name, phone, birth_date, address_id) "
+            + "SELECT 'user' || a.zipcode || '@gmail.com', 'User', 'User', '1234567890', ?, a.id FROM address a";
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private TestDbManager dbManager;
+
+    private Statistics statistics;
+
+    @BeforeAll
+    void beforeAll() {
+        dbManager.initDataBase();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update(INSERT_ADDRESSES_SQL, USERS);
+        jdbcTemplate.update(INSERT_USERS_SQL, BIRTH_DATE);
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dbManager.cleanTables();
+    }
+
+    @Test
+    void getAllByBirthDateRange_shouldFetchUsersWithAddressesInOneStatement() {
+        // given
+        // JDBC statements of the current thread, Hibernate statistics don't see JdbcTemplate ones
+        var sqlStatistics = SqlStatistics.start();
+
+        // test
+        Collection<UserDto> users;
+        try {
+            users = userService.getAllByBirthDateRange(BIRTH_DATE.minusDays(1), BIRTH_DATE.plusDays(1));
+        } finally {
+            SqlStatistics.stop();
+        }
+
+        // verify
+        assertThat(users).hasSize(USERS);
+        assertThat(users).allMatch(user -> user.getAddressDto() != null);
+        // users and addresses are read by a single join of the projection query
+        assertThat(sqlStatistics.getStatements()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+}
@@ -0,0 +1,114 @@
+package ua.com.zmike.userservice.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.com.zmike.userservice.converter.DtoConverter;
+import ua.com.zmike.userservice.dto.UserDto;
+import ua.com.zmike.userservice.model.User;
+import ua.com.zmike.userservice.testUtil.TestDbManager;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// reads every user of fill-db.sql by id, the way GET /users/{id} does it on a cache miss
+@Slf4j
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UserReadBenchmarkTestIT {
+
+    private static final String ENTITY = "entity and converter";
+    private static final String PROJECTION = "dto projection";
+
+    private static final long FIRST_ENTITY_ID = 1L;
+    private static final long LAST_ENTITY_ID = 5L;
+    private static final int WARMUP_ROUNDS = 2000;
+    private static final int ROUNDS = 10000;
+
+    private final Map<String, Double> latencyMicros = new ConcurrentHashMap<>();
+    private final Map<String, Long> allocatedBytes = new ConcurrentHashMap<>();
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private UserReadRepository userReadRepository;
+    @Autowired
+    private DtoConverter<UserDto, User> userDtoConverter;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private TestDbManager dbManager;
+
+    @BeforeAll
+    void beforeAll() {
+        dbManager.initDataBase();
+        transactionTemplate.setReadOnly(true);
+    }
+
+    @BeforeEach
+    void setUp() {
+        dbManager.fillTables();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dbManager.cleanTables();
+    }
+
+    @AfterAll
+    void compare() {
+        log.info("Read of a user by id, latency in us: {}, allocated bytes: {}", latencyMicros, allocatedBytes);
+        assertThat(allocatedBytes).containsKeys(ENTITY, PROJECTION);
+        assertThat(allocatedBytes.get(PROJECTION)).isLessThan(allocatedBytes.get(ENTITY));
+    }
+
+    @Test
+    void findById_entity() {
+        measure(ENTITY, id -> userDtoConverter.convertToDto(userRepository.findById(id).orElseThrow()));
+    }
+
+    @Test
+    void findById_projection() {
+        measure(PROJECTION, id -> userReadRepository.findById(id).orElseThrow());
+    }
+
+    private void measure(String name, Function<Long, UserDto> read) {
+        // given
+        var threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        var threadId = Thread.currentThread().getId();
+        run(read, WARMUP_ROUNDS);
+
+        // test
+        var allocatedBefore = threadMXBean.getThreadAllocatedBytes(threadId);
+        var start = System.nanoTime();
+        var lastUser = run(read, ROUNDS);
+        var elapsedNanos = System.nanoTime() - start;
+        var allocated = threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        // verify
+        assertThat(lastUser.getAddressDto()).isNotNull();
+        latencyMicros.put(name, elapsedNanos / 1000d / ROUNDS);
+        allocatedBytes.put(name, allocated / ROUNDS);
+    }
+
+    // every read in its own read-only transaction, as the service runs it
+    private UserDto run(Function<Long, UserDto> read, int rounds) {
+        UserDto user = null;
+        for (int i = 0; i < rounds; i++) {
+            var id = FIRST_ENTITY_ID + i % LAST_ENTITY_ID;
+            user = transactionTemplate.execute(status -> read.apply(id));
+        }
+        return user;
+    }
+}
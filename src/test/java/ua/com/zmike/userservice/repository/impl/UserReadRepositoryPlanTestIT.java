@@ -0,0 +1,85 @@
+package ua.com.zmike.userservice.repository.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ua.com.zmike.userservice.testUtil.TestDbManager;
+import ua.com.zmike.userservice.util.AgeUtil;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// enough rows for the planner to prefer the index over reading the whole table
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UserReadRepositoryPlanTestIT {
+
+    private static final int USERS = 20000;
+
+    private static final String INSERT_USERS_SQL = "INSERT INTO users (email, first_name, last_name, phone, birth_date) "
+            + "SELECT 'user' || i || '@gmail.com', 'User', 'User', '1234567890', DATE '1950-01-01' + i "
+            + "FROM generate_series(1, ?) i";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TestDbManager dbManager;
+
+    @BeforeAll
+    void beforeAll() {
+        dbManager.initDataBase();
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update(INSERT_USERS_SQL, USERS);
+        jdbcTemplate.execute("ANALYZE users");
+    }
+
+    @AfterEach
+    void tearDown() {
+        dbManager.cleanTables();
+    }
+
+    @Test
+    void findPageByBirthDateBetween_shouldUseBirthDateIndex_whenAgeRangeIsSearched() {
+        // given
+        var today = LocalDate.parse("2005-01-01");
+        var from = Date.valueOf(AgeUtil.getEarliestBirthDate(30, today));
+        var to = Date.valueOf(AgeUtil.getLatestBirthDate(18, today));
+
+        // test
+        var plan = String.join("\n", jdbcTemplate.queryForList(
+                "EXPLAIN " + UserReadRepositoryImpl.FIND_PAGE_BY_BIRTH_DATE_SQL, String.class, from, to, from, 0L, 101));
+
+        // verify
+        assertThat(plan).contains("Index Scan using users_birth_date_id_idx on users");
+        assertThat(plan).doesNotContain("Seq Scan on users");
+    }
+
+    @Test
+    void findPageByBirthMonthDay_shouldUseMonthDayIndex_forBothSegmentsOfWrappedRange() {
+        // given
+        var segments = List.of(List.of(1230, 1231), List.of(101, 105));
+
+        for (var segment : segments) {
+            // test
+            var plan = String.join("\n", jdbcTemplate.queryForList(
+                    "EXPLAIN " + UserReadRepositoryImpl.FIND_PAGE_BY_BIRTH_MONTH_DAY_SQL, String.class,
+                    segment.get(0), segment.get(1), 0, 0L, 101));
+
+            // verify
+            assertThat(plan).contains("Index Scan using users_birth_month_day_id_idx on users");
+            assertThat(plan).doesNotContain("Seq Scan on users");
+            assertThat(plan).doesNotContain("Sort");
+        }
+    }
+}
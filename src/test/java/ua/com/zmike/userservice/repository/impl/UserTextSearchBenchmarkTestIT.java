@@ -0,0 +1,93 @@
+package ua.com.zmike.userservice.repository.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ua.com.zmike.userservice.repository.UserReadRepository;
+import ua.com.zmike.userservice.testUtil.TestDbManager;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// the target is 10M rows, run it with -Dbenchmark.users=10000000, the default keeps the IT suite fast
+@Slf4j
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UserTextSearchBenchmarkTestIT {
+
+    private static final int USERS = Integer.getInteger("benchmark.users", 200_000);
+    private static final int QUERIES = 200;
+    private static final int LIMIT = 20;
+    private static final long MAX_P95_MILLIS = 20;
+
+    // md5 based names give the trigram distribution of random text instead of a few repeated words
+    private static final String INSERT_USERS_SQL = "INSERT INTO users (email, first_name, last_name, phone, birth_date) "
+            + "SELECT substr(md5(i::text), 1, 10) || i || '@gmail.com', substr(md5(i::text), 11, 8), "
+            + "substr(md5(i::text), 19, 10), '1234567890', DATE '1950-01-01' + i % 20000 "
+            + "FROM generate_series(1, ?) i";
+
+    @Autowired
+    private UserReadRepository userReadRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TestDbManager dbManager;
+
+    @BeforeAll
+    void beforeAll() {
+        dbManager.initDataBase();
+        jdbcTemplate.update(INSERT_USERS_SQL, USERS);
+        jdbcTemplate.execute("ANALYZE users");
+    }
+
+    @AfterAll
+    void afterAll() {
+        dbManager.cleanTables();
+    }
+
+    @Test
+    void searchByText_shouldUseTrigramIndexes() {
+        // test
+        var plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN SELECT id FROM users u "
+                + "WHERE lower(u.first_name) LIKE '%a1b2%' OR lower(u.last_name) LIKE '%a1b2%' "
+                + "OR lower(u.email) LIKE '%a1b2%'", String.class));
+
+        // verify
+        assertThat(plan).contains(
+                "Bitmap Index Scan on users_first_name_trgm_idx",
+                "Bitmap Index Scan on users_last_name_trgm_idx",
+                "Bitmap Index Scan on users_email_trgm_idx");
+        assertThat(plan).doesNotContain("Seq Scan on users");
+    }
+
+    @Test
+    void searchByText_shouldAnswerWithinLatencyTarget() {
+        // given
+        var texts = jdbcTemplate.queryForList("SELECT substr(md5(i::text), 1 + i % 20, 4) "
+                + "FROM generate_series(1, ?) i", String.class, QUERIES);
+        // warm up the connection pool, the statement cache and the index pages
+        texts.stream().limit(QUERIES / 10).forEach(text -> userReadRepository.searchByText(text, LIMIT));
+
+        // test
+        var latencies = new long[QUERIES];
+        for (var i = 0; i < QUERIES; i++) {
+            var start = System.nanoTime();
+            var users = userReadRepository.searchByText(texts.get(i), LIMIT);
+            latencies[i] = System.nanoTime() - start;
+            assertThat(users).hasSizeLessThanOrEqualTo(LIMIT);
+        }
+
+        // verify
+        Arrays.sort(latencies);
+        var p50Millis = latencies[QUERIES / 2] / 1_000_000d;
+        var p95Millis = latencies[QUERIES * 95 / 100] / 1_000_000d;
+        log.info("Search by text on {} users, p50: {} ms, p95: {} ms", USERS, p50Millis, p95Millis);
+        assertThat(p95Millis).isLessThan(MAX_P95_MILLIS);
+    }
+}
@@ -0,0 +1,80 @@
+package ua.com.zmike.userservice.service.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import ua.com.zmike.userservice.dto.AccessLogDto;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccessLogServiceTest {
+
+    private static final int BUFFER_SIZE = 2;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AccessLogServiceImpl accessLogService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        accessLogService = new AccessLogServiceImpl(meterRegistry);
+        ReflectionTestUtils.setField(accessLogService, "bufferSize", BUFFER_SIZE);
+        ReflectionTestUtils.setField(accessLogService, "flushInterval", 10L);
+    }
+
+    @Test
+    void offer_shouldDropAndCountEntry_whenBufferFull() {
+        // test
+        var first = accessLogService.offer(getEntry());
+        var second = accessLogService.offer(getEntry());
+        var third = accessLogService.offer(getEntry());
+
+        // verify
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+        assertThat(third).isFalse();
+        assertThat(meterRegistry.get("access.log.dropped").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void drain_shouldWriteBufferedEntriesAndFreeBuffer() {
+        // given
+        accessLogService.offer(getEntry());
+        accessLogService.offer(getEntry());
+
+        // test
+        var result = accessLogService.drain();
+
+        // verify
+        assertThat(result).isEqualTo(BUFFER_SIZE);
+        assertThat(accessLogService.offer(getEntry())).isTrue();
+    }
+
+    @Test
+    void stop_shouldWriteBufferedEntries_whenWriterStopped() {
+        // given
+        accessLogService.start();
+        accessLogService.offer(getEntry());
+
+        // test
+        accessLogService.stop();
+
+        // verify
+        assertThat(accessLogService.isRunning()).isFalse();
+        assertThat(accessLogService.drain()).isZero();
+    }
+
+    private static AccessLogDto getEntry() {
+        return AccessLogDto.builder()
+                .timestamp(Instant.now())
+                .method("GET")
+                .uri("/users/1")
+                .handler("getUserById")
+                .status(200)
+                .durationMillis(1.5)
+                .build();
+    }
+}
@@ -2,80 +2,135 @@ package ua.com.zmike.userservice.service.impl;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.hibernate.SessionFactory;
+import org.mockito.Answers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import ua.com.zmike.userservice.converter.DtoConverter;
-import ua.com.zmike.userservice.dto.AddressDto;
-import ua.com.zmike.userservice.model.Address;
 import ua.com.zmike.userservice.repository.AddressRepository;
-import ua.com.zmike.userservice.service.AddressService;
 
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.only;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static ua.com.zmike.userservice.testUtil.TestEntityFactory.getAddress;
 import static ua.com.zmike.userservice.testUtil.TestEntityFactory.getAddressDto;
-import static ua.com.zmike.userservice.testUtil.TestEntityFactory.getAddressExample;
 
 @ExtendWith(MockitoExtension.class)
 class AddressServiceTest {
 
-    @Mock
-    private DtoConverter<AddressDto, Address> addressDtoConverter;
+    private static final Long FIRST_ENTITY_ID = 1L;
+
     @Mock
     private AddressRepository addressRepository;
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private SessionFactory sessionFactory;
     @InjectMocks
     private AddressServiceImpl addressService;
 
 
     @Test
-    void findByExample_shouldReturnOne_whenAddressExistInDb() {
+    void findByFingerprint_shouldReturnOne_whenAddressExistInDb() {
         // given
         var addressDto = getAddressDto();
-        var address = getAddress();
-        var example = getAddressExample(address);
-        var expectedResult = Optional.of(address);
+        var expectedResult = Optional.of(getAddress());
 
-        when(addressDtoConverter
-                .convertFromDto(addressDto))
-                .thenReturn(address);
         when(addressRepository
-                .findOne(example))
+                .findByFingerprint("Country1", "City1", "Street1", "1", 1, 1))
                 .thenReturn(expectedResult);
 
         // test
-        var result = addressService.findByExample(addressDto);
+        var result = addressService.findByFingerprint(addressDto);
 
         // verify
         assertThat(result).isEqualTo(expectedResult);
-        verify(addressDtoConverter, only()).convertFromDto(addressDto);
-        verify(addressRepository, only()).findOne(example);
+        verify(addressRepository, only()).findByFingerprint("Country1", "City1", "Street1", "1", 1, 1);
     }
 
     @Test
-    void findByExample_shouldReturnEmptyObject_whenAddressNotExistInDb() {
+    void findByFingerprint_shouldReturnEmptyObject_whenAddressNotExistInDb() {
         // given
         var addressDto = getAddressDto();
-        var address = getAddress();
-        var example = getAddressExample(address);
 
-        when(addressDtoConverter
-                .convertFromDto(addressDto))
-                .thenReturn(address);
         when(addressRepository
-                .findOne(example))
+                .findByFingerprint("Country1", "City1", "Street1", "1", 1, 1))
+                .thenReturn(Optional.empty());
+
+        // test
+        var result = addressService.findByFingerprint(addressDto);
+
+        // verify
+        assertThat(result).isEmpty();
+        verify(addressRepository, only()).findByFingerprint("Country1", "City1", "Street1", "1", 1, 1);
+    }
+
+    @Test
+    void findByFingerprint_shouldPassZeroApartment_whenAddressHasNoApartment() {
+        // given
+        var addressDto = getAddressDto();
+        addressDto.setApartment(null);
+
+        when(addressRepository
+                .findByFingerprint("Country1", "City1", "Street1", "1", 0, 1))
                 .thenReturn(Optional.empty());
 
         // test
-        var result = addressService.findByExample(addressDto);
+        var result = addressService.findByFingerprint(addressDto);
 
         // verify
         assertThat(result).isEmpty();
-        verify(addressDtoConverter, only()).convertFromDto(addressDto);
-        verify(addressRepository, only()).findOne(example);
+        verify(addressRepository, only()).findByFingerprint("Country1", "City1", "Street1", "1", 0, 1);
+    }
+
+    @Test
+    void resolveOrCreate_shouldReturnFoundAddress_whenAddressExistInDb() {
+        // given
+        var addressDto = getAddressDto();
+        var address = getAddress(FIRST_ENTITY_ID);
+
+        when(addressRepository
+                .findByFingerprint("Country1", "City1", "Street1", "1", 1, 1))
+                .thenReturn(Optional.of(address));
+
+        // test
+        var result = addressService.resolveOrCreate(addressDto);
+
+        // verify
+        assertThat(result).isSameAs(address);
+        verify(addressRepository, only()).findByFingerprint("Country1", "City1", "Street1", "1", 1, 1);
+        verifyNoInteractions(sessionFactory);
+    }
+
+    @Test
+    void resolveOrCreate_shouldReturnReferenceByUpsertedIdAndEvictLookups_whenAddressNotExistInDb() {
+        // given
+        var addressDto = getAddressDto();
+        var address = getAddress(FIRST_ENTITY_ID);
+
+        when(addressRepository
+                .findByFingerprint("Country1", "City1", "Street1", "1", 1, 1))
+                .thenReturn(Optional.empty());
+        when(addressRepository
+                .upsert("Country1", "City1", "Street1", "1", 1, 1))
+                .thenReturn(FIRST_ENTITY_ID);
+        when(addressRepository
+                .getReferenceById(FIRST_ENTITY_ID))
+                .thenReturn(address);
+
+        // test
+        var result = addressService.resolveOrCreate(addressDto);
+
+        // verify
+        assertThat(result).isSameAs(address);
+        verify(sessionFactory.getCache()).evictQueryRegion("address-lookup");
+        verify(addressRepository, times(1)).findByFingerprint("Country1", "City1", "Street1", "1", 1, 1);
+        verify(addressRepository, times(1)).upsert("Country1", "City1", "Street1", "1", 1, 1);
+        verify(addressRepository, times(1)).getReferenceById(FIRST_ENTITY_ID);
+        verifyNoMoreInteractions(addressRepository);
     }
 }
@@ -11,6 +11,7 @@ import org.springframework.test.context.ActiveProfiles;
 import ua.com.zmike.userservice.converter.DtoConverter;
 import ua.com.zmike.userservice.dto.AddressDto;
 import ua.com.zmike.userservice.model.Address;
+import ua.com.zmike.userservice.repository.AddressRepository;
 import ua.com.zmike.userservice.service.AddressService;
 import ua.com.zmike.userservice.testUtil.TestDbManager;
 
@@ -32,6 +33,8 @@ class AddressServiceTestIT {
     @Autowired
     private AddressService addressService;
     @Autowired
+    private AddressRepository addressRepository;
+    @Autowired
     private TestDbManager dbManager;
 
     @BeforeAll
@@ -50,13 +53,13 @@ class AddressServiceTestIT {
     }
 
     @Test
-    void findByExample_shouldReturnOne_whenAddressExistInDb() {
+    void findByFingerprint_shouldReturnOne_whenAddressExistInDb() {
         // given
         var addressDto = getAddressDto();
         var expectedResult = Optional.of(getAddress());
 
         // test
-        var result = addressService.findByExample(addressDto);
+        var result = addressService.findByFingerprint(addressDto);
 
         // verify
         assertNotNull(result);
@@ -66,16 +69,80 @@ class AddressServiceTestIT {
     }
 
     @Test
-    void findByExample_shouldReturnEmptyObject_whenAddressNotExistInDb() {
+    void findByFingerprint_shouldReturnEmptyObject_whenAddressNotExistInDb() {
         // given
         var addressDto = getAddressDto();
         addressDto.setCountry("SomeCountry");
 
         // test
-        var result = addressService.findByExample(addressDto);
+        var result = addressService.findByFingerprint(addressDto);
 
         // verify
         assertNotNull(result);
         assertTrue(result.isEmpty());
     }
+
+    @Test
+    void findByFingerprint_shouldReturnEmptyObject_whenAddressDiffersByCaseOrSpaces() {
+        // given
+        var addressDto = getAddressDto();
+        addressDto.setCountry(" country1 ");
+        addressDto.setStreet("STREET1");
+
+        // test
+        var result = addressService.findByFingerprint(addressDto);
+
+        // verify
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void findByFingerprint_shouldReturnOne_whenAddressWithoutApartmentExistInDb() {
+        // given
+        var address = getAddress();
+        address.setApartment(null);
+        address.setUsers(null);
+        var savedAddress = addressRepository.save(address);
+        var addressDto = getAddressDto();
+        addressDto.setApartment(null);
+
+        // test
+        var result = addressService.findByFingerprint(addressDto);
+
+        // verify
+        assertTrue(result.isPresent());
+        assertEquals(savedAddress.getId(), result.get().getId());
+    }
+
+    @Test
+    void resolveOrCreate_shouldReturnExistingId_whenAddressExistInDb() {
+        // given
+        var addressDto = getAddressDto();
+        var addressesInDb = addressRepository.count();
+
+        // test
+        var result = addressService.resolveOrCreate(addressDto);
+
+        // verify
+        assertEquals(1L, result.getId());
+        assertEquals(addressesInDb, addressRepository.count());
+    }
+
+    @Test
+    void resolveOrCreate_shouldCreateAddress_whenAddressNotExistInDb() {
+        // given
+        var addressDto = getAddressDto();
+        addressDto.setCountry("SomeCountry");
+        addressDto.setApartment(null);
+        var addressesInDb = addressRepository.count();
+
+        // test
+        var result = addressService.resolveOrCreate(addressDto);
+
+        // verify
+        assertNotNull(result.getId());
+        assertEquals(addressesInDb + 1, addressRepository.count());
+        assertEquals(result.getId(), addressService.resolveOrCreate(addressDto).getId());
+        assertEquals(addressesInDb + 1, addressRepository.count());
+    }
 }
@@ -0,0 +1,97 @@
+package ua.com.zmike.userservice.service.impl;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import ua.com.zmike.userservice.UserServiceApplication;
+import ua.com.zmike.userservice.service.UserService;
+import ua.com.zmike.userservice.testUtil.TestDbManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ua.com.zmike.userservice.config.CacheConfig.USERS_CACHE;
+import static ua.com.zmike.userservice.testUtil.TestEntityFactory.getUserDto;
+
+// two nodes of the service sharing one database
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CacheInvalidationTestIT {
+
+    private static final Long FIRST_ENTITY_ID = 1L;
+    private static final long TIMEOUT_MILLIS = 5000;
+
+    private ConfigurableApplicationContext firstNode;
+    private ConfigurableApplicationContext secondNode;
+
+    @BeforeAll
+    void beforeAll() {
+        firstNode = startNode();
+        secondNode = startNode();
+    }
+
+    @AfterAll
+    void afterAll() {
+        secondNode.close();
+        firstNode.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        firstNode.getBean(TestDbManager.class).fillTables();
+    }
+
+    @AfterEach
+    void tearDown() {
+        firstNode.getBean(TestDbManager.class).cleanTables();
+        firstNode.getBean(CacheManager.class).getCache(USERS_CACHE).clear();
+        secondNode.getBean(CacheManager.class).getCache(USERS_CACHE).clear();
+    }
+
+    @Test
+    void updateOne_shouldEvictUserCachedOnOtherNode() throws InterruptedException {
+        // given
+        var cachedUser = firstNode.getBean(UserService.class).getOneById(FIRST_ENTITY_ID);
+        var incomingUserDto = getUserDto(FIRST_ENTITY_ID);
+        incomingUserDto.setFirstName("Updated");
+
+        // test
+        secondNode.getBean(UserService.class).updateOne(FIRST_ENTITY_ID, incomingUserDto);
+
+        // verify
+        awaitEviction(firstNode);
+        var actualResult = firstNode.getBean(UserService.class).getOneById(FIRST_ENTITY_ID);
+        assertThat(cachedUser.getFirstName()).isNotEqualTo("Updated");
+        assertThat(actualResult.getFirstName()).isEqualTo("Updated");
+    }
+
+    @Test
+    void deleteOneById_shouldEvictUserCachedOnOtherNode() throws InterruptedException {
+        // given
+        firstNode.getBean(UserService.class).getOneById(FIRST_ENTITY_ID);
+
+        // test
+        secondNode.getBean(UserService.class).deleteOneById(FIRST_ENTITY_ID);
+
+        // verify
+        awaitEviction(firstNode);
+    }
+
+    private static void awaitEviction(ConfigurableApplicationContext node) throws InterruptedException {
+        var cache = node.getBean(CacheManager.class).getCache(USERS_CACHE);
+        var deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (cache.get(FIRST_ENTITY_ID) != null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(cache.get(FIRST_ENTITY_ID)).isNull();
+    }
+
+    private static ConfigurableApplicationContext startNode() {
+        return new SpringApplicationBuilder(UserServiceApplication.class, TestDbManager.class)
+                .properties("server.port=0")
+                .run();
+    }
+}
@@ -0,0 +1,119 @@
+package ua.com.zmike.userservice.service.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import ua.com.zmike.userservice.config.ReplicaRoutingDataSource;
+import ua.com.zmike.userservice.dto.SlowQueryDto;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class SlowQueryLogServiceTest {
+
+    private static final long THRESHOLD_MILLIS = 100;
+
+    @Mock
+    private ReplicaRoutingDataSource routingDataSource;
+
+    private SlowQueryLogServiceImpl slowQueryLogService;
+
+    @BeforeEach
+    void setUp() {
+        slowQueryLogService = new SlowQueryLogServiceImpl(routingDataSource);
+        ReflectionTestUtils.setField(slowQueryLogService, "threshold", THRESHOLD_MILLIS);
+        ReflectionTestUtils.setField(slowQueryLogService, "explainSampleRate", 0d);
+    }
+
+    @AfterEach
+    void tearDown() {
+        slowQueryLogService.destroy();
+    }
+
+    @Test
+    void record_shouldIgnoreStatement_whenFasterThanThreshold() {
+        // test
+        slowQueryLogService.record("SELECT * FROM users WHERE id = ?", () -> {
+            throw new AssertionError("Parameters of a fast statement are taken");
+        }, 0, millis(THRESHOLD_MILLIS - 1));
+
+        // verify
+        assertThat(slowQueryLogService.getTop(10)).isEmpty();
+        verifyNoInteractions(routingDataSource);
+    }
+
+    @Test
+    void record_shouldAggregateStatementsByNormalizedSql() {
+        // test
+        slowQueryLogService.record("SELECT * FROM users\n  WHERE id = 1", List::of, 0, millis(100));
+        slowQueryLogService.record("SELECT * FROM users WHERE id = 2", List::of, 0, millis(300));
+        slowQueryLogService.record("SELECT * FROM users WHERE email = 'a@b.com'", List::of, 0, millis(1000));
+
+        // verify
+        var result = slowQueryLogService.getTop(10);
+        assertThat(result).extracting(SlowQueryDto::getSql)
+                .containsExactly("SELECT * FROM users WHERE email = ?", "SELECT * FROM users WHERE id = ?");
+        assertThat(result.get(1).getCount()).isEqualTo(2);
+        assertThat(result.get(1).getTotalMillis()).isEqualTo(400);
+        assertThat(result.get(1).getMeanMillis()).isEqualTo(200);
+        assertThat(result.get(1).getMaxMillis()).isEqualTo(300);
+    }
+
+    @Test
+    void record_shouldNotTakeParameters_whenStatementIsBatch() {
+        // test
+        slowQueryLogService.record("INSERT INTO users (email) VALUES (?)", () -> {
+            throw new AssertionError("Parameters of a batch are taken");
+        }, 100, millis(200));
+
+        // verify
+        assertThat(slowQueryLogService.getTop(10)).extracting(SlowQueryDto::getCount).containsExactly(1L);
+    }
+
+    @Test
+    void getTop_shouldLimitStatements_whenMoreRecorded() {
+        // given
+        slowQueryLogService.record("SELECT * FROM users", List::of, 0, millis(200));
+        slowQueryLogService.record("SELECT * FROM address", List::of, 0, millis(500));
+
+        // test
+        var result = slowQueryLogService.getTop(1);
+
+        // verify
+        assertThat(result).extracting(SlowQueryDto::getSql).containsExactly("SELECT * FROM address");
+    }
+
+    @Test
+    void reset_shouldForgetRecordedStatements() {
+        // given
+        slowQueryLogService.record("SELECT * FROM users", List::of, 0, millis(200));
+
+        // test
+        slowQueryLogService.reset();
+
+        // verify
+        assertThat(slowQueryLogService.getTop(10)).isEmpty();
+    }
+
+    @Test
+    void normalize_shouldCollapseParameterListsAndRows() {
+        // test
+        var result = SlowQueryLogServiceImpl.normalize(
+                "INSERT INTO users (a, b) VALUES (?, ?::int), (?, ?::int) ON CONFLICT DO NOTHING");
+
+        // verify
+        assertThat(result).isEqualTo("INSERT INTO users (a, b) VALUES (?) ON CONFLICT DO NOTHING");
+    }
+
+    private static long millis(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+}
@@ -0,0 +1,121 @@
+package ua.com.zmike.userservice.service.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import ua.com.zmike.userservice.converter.impl.AddressDtoConverter;
+import ua.com.zmike.userservice.converter.impl.UserDtoConverter;
+import ua.com.zmike.userservice.dto.BatchItemResultDto;
+import ua.com.zmike.userservice.dto.BatchItemResultDto.Status;
+import ua.com.zmike.userservice.model.Address;
+import ua.com.zmike.userservice.model.User;
+import ua.com.zmike.userservice.repository.UserBatchRepository;
+import ua.com.zmike.userservice.service.UserBatchService;
+
+import javax.validation.Validation;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+import static ua.com.zmike.userservice.testUtil.TestEntityFactory.getUserDto;
+
+@ExtendWith(MockitoExtension.class)
+class UserBatchServiceTest {
+
+    private static final Long ADDRESS_ID = 1L;
+
+    @Mock
+    private UserBatchRepository userBatchRepository;
+    @Captor
+    private ArgumentCaptor<List<Address>> addressesCaptor;
+    @Captor
+    private ArgumentCaptor<List<User>> usersCaptor;
+
+    private UserBatchService userBatchService;
+
+    @BeforeEach
+    void setUp() {
+        var addressDtoConverter = new AddressDtoConverter();
+        userBatchService = new UserBatchServiceImpl(
+                new UserDtoConverter(addressDtoConverter), addressDtoConverter, userBatchRepository,
+                Validation.buildDefaultValidatorFactory().getValidator());
+        ReflectionTestUtils.setField(userBatchService, "chunkSize", 2);
+    }
+
+    @Test
+    void addAll_shouldInsertUsersInChunksAndResolveSharedAddressOnce() {
+        // given
+        var incomingUsers = List.of(getUserDto(), getUserDto(), getUserDto());
+        incomingUsers.get(1).setEmail("User2@gmail.com");
+        incomingUsers.get(2).setEmail("User3@gmail.com");
+
+        when(userBatchRepository
+                .resolveAddressIds(anyList()))
+                .thenReturn(List.of(ADDRESS_ID));
+        when(userBatchRepository
+                .insertUsers(anyList()))
+                .thenAnswer(invocation -> toInsertedIds(invocation.getArgument(0)));
+
+        // test
+        var result = userBatchService.addAll(incomingUsers);
+
+        // verify
+        assertThat(result).extracting(BatchItemResultDto::getStatus)
+                .containsExactly(Status.CREATED, Status.CREATED, Status.CREATED);
+        assertThat(result).extracting(BatchItemResultDto::getId)
+                .containsExactly(101L, 102L, 103L);
+        verify(userBatchRepository).resolveAddressIds(addressesCaptor.capture());
+        assertThat(addressesCaptor.getValue()).hasSize(1);
+        verify(userBatchRepository, times(2)).insertUsers(usersCaptor.capture());
+        assertThat(usersCaptor.getAllValues()).extracting(List::size).containsExactly(2, 1);
+        assertThat(usersCaptor.getAllValues().get(0))
+                .allSatisfy(user -> assertThat(user.getAddress().getId()).isEqualTo(ADDRESS_ID));
+        verifyNoMoreInteractions(userBatchRepository);
+    }
+
+    @Test
+    void addAll_shouldReturnInvalidAndDuplicate_whenUserNotValidOrEmailRepeatedOrExistInDb() {
+        // given
+        var incomingUsers = List.of(getUserDto(), getUserDto(), getUserDto(), getUserDto());
+        incomingUsers.get(0).setEmail("");
+        incomingUsers.get(3).setEmail("User4@gmail.com");
+
+        when(userBatchRepository
+                .resolveAddressIds(anyList()))
+                .thenReturn(List.of(ADDRESS_ID));
+        when(userBatchRepository
+                .insertUsers(any()))
+                .thenReturn(Map.of("User4@gmail.com", 104L));
+
+        // test
+        var result = userBatchService.addAll(incomingUsers);
+
+        // verify
+        assertThat(result).extracting(BatchItemResultDto::getIndex).containsExactly(0, 1, 2, 3);
+        assertThat(result).extracting(BatchItemResultDto::getStatus)
+                .containsExactly(Status.INVALID, Status.DUPLICATE, Status.DUPLICATE, Status.CREATED);
+        assertThat(result).extracting(BatchItemResultDto::getMessage).containsExactly(
+                "Email address should not be blank, Input valid Email address please",
+                "User with email 'User1@gmail.com' already exists",
+                "Email 'User1@gmail.com' is repeated in the batch",
+                null);
+        assertThat(result.get(3).getId()).isEqualTo(104L);
+    }
+
+    private static Map<String, Long> toInsertedIds(List<User> users) {
+        return users.stream()
+                .collect(Collectors.toMap(User::getEmail, user -> 100L + Long.parseLong(user.getEmail().substring(4, 5))));
+    }
+}
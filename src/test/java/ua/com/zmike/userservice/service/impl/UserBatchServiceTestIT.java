@@ -0,0 +1,107 @@
+package ua.com.zmike.userservice.service.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ua.com.zmike.userservice.dto.BatchItemResultDto;
+import ua.com.zmike.userservice.dto.BatchItemResultDto.Status;
+import ua.com.zmike.userservice.dto.UserDto;
+import ua.com.zmike.userservice.repository.AddressRepository;
+import ua.com.zmike.userservice.repository.UserRepository;
+import ua.com.zmike.userservice.service.UserBatchService;
+import ua.com.zmike.userservice.testUtil.TestDbManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ua.com.zmike.userservice.testUtil.TestEntityFactory.getAddressDto;
+import static ua.com.zmike.userservice.testUtil.TestEntityFactory.getUserDto;
+
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UserBatchServiceTestIT {
+    // db contain 5 users and 5 address
+    private static final long USERS_IN_DB = 5;
+    private static final long ADDRESSES_IN_DB = 5;
+    // more than one chunk of 'user.batch.chunk-size'
+    private static final int BATCH_SIZE = 1200;
+
+    @Autowired
+    private UserBatchService userBatchService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private AddressRepository addressRepository;
+    @Autowired
+    private TestDbManager dbManager;
+
+    @BeforeAll
+    void beforeAll() {
+        dbManager.initDataBase();
+    }
+
+    @BeforeEach
+    void setUp() {
+        dbManager.fillTables();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dbManager.cleanTables();
+    }
+
+    @Test
+    void addAll_shouldCreateUsersAndOnlyMissingAddresses() {
+        // given
+        var existingAddress = getAddressDto();
+        var newAddress = getAddressDto();
+        newAddress.setStreet("BatchStreet");
+        var newAddressWithoutApartment = getAddressDto();
+        newAddressWithoutApartment.setStreet("BatchStreet");
+        newAddressWithoutApartment.setApartment(null);
+        var addresses = List.of(existingAddress, newAddress, newAddressWithoutApartment);
+
+        var incomingUsers = new ArrayList<UserDto>();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            var userDto = getUserDto();
+            userDto.setEmail(String.format("batch%d@gmail.com", i));
+            userDto.setAddressDto(addresses.get(i % addresses.size()));
+            incomingUsers.add(userDto);
+        }
+
+        // test
+        var result = userBatchService.addAll(incomingUsers);
+
+        // verify
+        assertThat(result).hasSize(BATCH_SIZE);
+        assertThat(result).allMatch(item -> item.getStatus() == Status.CREATED && item.getId() != null);
+        assertThat(userRepository.count()).isEqualTo(USERS_IN_DB + BATCH_SIZE);
+        assertThat(addressRepository.count()).isEqualTo(ADDRESSES_IN_DB + 2);
+        assertThat(userRepository.findById(result.get(0).getId()).orElseThrow().getAddress().getId()).isEqualTo(1L);
+    }
+
+    @Test
+    void addAll_shouldReturnDuplicateAndInvalid_whenEmailExistInDbOrUserNotValid() {
+        // given
+        var existingUser = getUserDto();
+        var invalidUser = getUserDto();
+        invalidUser.setEmail("invalid@gmail.com");
+        invalidUser.setPhoneNumber("123");
+        var newUser = getUserDto();
+        newUser.setEmail("new@gmail.com");
+
+        // test
+        var result = userBatchService.addAll(List.of(existingUser, invalidUser, newUser));
+
+        // verify
+        assertThat(result).extracting(BatchItemResultDto::getStatus)
+                .containsExactly(Status.DUPLICATE, Status.INVALID, Status.CREATED);
+        assertThat(userRepository.count()).isEqualTo(USERS_IN_DB + 1);
+        assertThat(addressRepository.count()).isEqualTo(ADDRESSES_IN_DB);
+    }
+}
@@ -0,0 +1,115 @@
+package ua.com.zmike.userservice.service.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import ua.com.zmike.userservice.config.CacheConfig;
+import ua.com.zmike.userservice.converter.DtoConverter;
+import ua.com.zmike.userservice.dto.UserDto;
+import ua.com.zmike.userservice.model.User;
+import ua.com.zmike.userservice.repository.UserReadRepository;
+import ua.com.zmike.userservice.repository.UserRepository;
+import ua.com.zmike.userservice.service.AddressService;
+import ua.com.zmike.userservice.service.CacheInvalidationService;
+import ua.com.zmike.userservice.service.UserService;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static ua.com.zmike.userservice.config.CacheConfig.USERS_CACHE;
+import static ua.com.zmike.userservice.testUtil.TestEntityFactory.getUser;
+import static ua.com.zmike.userservice.testUtil.TestEntityFactory.getUserDto;
+
+@SpringBootTest(classes = {CacheConfig.class, UserServiceImpl.class, SimpleMeterRegistry.class})
+@ImportAutoConfiguration(CacheAutoConfiguration.class)
+class UserServiceCacheTest {
+
+    private static final Long FIRST_ENTITY_ID = 1L;
+
+    @MockBean
+    private DtoConverter<UserDto, User> userDtoConverter;
+    @MockBean
+    private UserRepository userRepository;
+    @MockBean
+    private UserReadRepository userReadRepository;
+    @MockBean
+    private AddressService addressService;
+    @MockBean
+    private CacheInvalidationService cacheInvalidationService;
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(USERS_CACHE).clear();
+        var user = getUser(FIRST_ENTITY_ID);
+        when(userReadRepository.findById(FIRST_ENTITY_ID)).thenReturn(Optional.of(getUserDto(FIRST_ENTITY_ID)));
+        when(userRepository.findById(FIRST_ENTITY_ID)).thenReturn(Optional.of(user));
+        when(userRepository.save(any())).thenReturn(user);
+        when(userDtoConverter.convertToDto(user)).thenReturn(getUserDto(FIRST_ENTITY_ID));
+    }
+
+    @Test
+    void getOneById_shouldReadUserOnce_whenUserIsCached() {
+        // test
+        var first = userService.getOneById(FIRST_ENTITY_ID);
+        var second = userService.getOneById(FIRST_ENTITY_ID);
+
+        // verify
+        assertThat(second).isEqualTo(first);
+        verify(userReadRepository, times(1)).findById(FIRST_ENTITY_ID);
+    }
+
+    @Test
+    void getOneById_shouldReadUserAgain_whenUserIsUpdated() {
+        // given
+        userService.getOneById(FIRST_ENTITY_ID);
+
+        // test
+        userService.updateOne(FIRST_ENTITY_ID, getUserDto(FIRST_ENTITY_ID));
+        userService.getOneById(FIRST_ENTITY_ID);
+
+        // verify
+        verify(userReadRepository, times(2)).findById(FIRST_ENTITY_ID);
+    }
+
+    @Test
+    void getOneById_shouldReadUserAgain_whenUserIsDeleted() {
+        // given
+        userService.getOneById(FIRST_ENTITY_ID);
+
+        // test
+        userService.deleteOneById(FIRST_ENTITY_ID);
+
+        // verify
+        assertThat(cacheManager.getCache(USERS_CACHE).get(FIRST_ENTITY_ID)).isNull();
+    }
+
+    @Test
+    void getOneById_shouldNotCacheUser_whenUserIsUpdatedDuringLoad() {
+        // given
+        when(userReadRepository.findById(FIRST_ENTITY_ID)).thenAnswer(invocation -> {
+            userService.updateOne(FIRST_ENTITY_ID, getUserDto(FIRST_ENTITY_ID));
+            return Optional.of(getUserDto(FIRST_ENTITY_ID));
+        });
+
+        // test
+        userService.getOneById(FIRST_ENTITY_ID);
+
+        // verify
+        assertThat(cacheManager.getCache(USERS_CACHE).get(FIRST_ENTITY_ID)).isNull();
+    }
+}
@@ -13,6 +13,7 @@ import org.springframework.dao.EmptyResultDataAccessException;
 import ua.com.zmike.userservice.converter.DtoConverter;
 import ua.com.zmike.userservice.dto.AddressDto;
 import ua.com.zmike.userservice.dto.UserDto;
+import ua.com.zmike.userservice.dto.UserSearchCriteria;
 import ua.com.zmike.userservice.exception.IncorrectValueException;
 import ua.com.zmike.userservice.exception.TargetNotFoundException;
 import ua.com.zmike.userservice.model.Address;
@@ -23,11 +24,20 @@ import ua.com.zmike.userservice.service.UserService;
 import ua.com.zmike.userservice.testUtil.TestDbManager;
 
 import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static ua.com.zmike.userservice.testUtil.TestEntityFactory.getAddressDto;
@@ -40,7 +50,6 @@ class UserServiceTestIT {
     // db contain 5 users and 5 address
     private static final Long FIRST_ENTITY_ID = 1L;
     private static final Long LAST_ENTITY_ID = 5L;
-    private static final Long NEW_ENTITY_ID = 6L;
 
     @Autowired
     private DtoConverter<UserDto, User> userDtoConverter;
@@ -86,9 +95,9 @@ class UserServiceTestIT {
         userDto.setEmail(newMail);
         userDto.setAddressDto(addressDto);
 
-        var newAddressDto = getAddressDto(NEW_ENTITY_ID);
+        var newAddressDto = getAddressDto();
         newAddressDto.setCountry(newCountry);
-        var expectedResult = getUserDto(NEW_ENTITY_ID);
+        var expectedResult = getUserDto();
         expectedResult.setEmail(newMail);
         expectedResult.setAddressDto(newAddressDto);
 
@@ -98,9 +107,9 @@ class UserServiceTestIT {
         // verify
         assertNotNull(result);
         assertNotNull(result.getId());
-        assertEquals(NEW_ENTITY_ID, result.getId());
+        assertTrue(result.getId() > LAST_ENTITY_ID);
         assertEquals(newAddressDto, result.getAddressDto());
-        assertEquals(NEW_ENTITY_ID, result.getAddressDto().getId());
+        assertTrue(result.getAddressDto().getId() > LAST_ENTITY_ID);
         assertEquals(expectedResult, result);
     }
 
@@ -116,7 +125,7 @@ class UserServiceTestIT {
         userDto.setAddressDto(addressDto);
 
         var addressFromDb = getAddressDto(FIRST_ENTITY_ID);
-        var expectedResult = getUserDto(NEW_ENTITY_ID);
+        var expectedResult = getUserDto();
         expectedResult.setEmail(newMail);
         expectedResult.setAddressDto(addressFromDb);
 
@@ -126,7 +135,7 @@ class UserServiceTestIT {
         // verify
         assertNotNull(result);
         assertNotNull(result.getId());
-        assertEquals(NEW_ENTITY_ID, result.getId());
+        assertTrue(result.getId() > LAST_ENTITY_ID);
         assertEquals(addressFromDb, result.getAddressDto());
         assertEquals(FIRST_ENTITY_ID, result.getAddressDto().getId());
         assertEquals(expectedResult, result);
@@ -140,7 +149,7 @@ class UserServiceTestIT {
         userDto.setAddressDto(addressDto);
 
         // in DB contain 5 addresses
-        var expectedResult = getUserDto(NEW_ENTITY_ID);
+        var expectedResult = getUserDto();
         expectedResult.setAddressDto(addressDto);
 
         // test and verify
@@ -152,6 +161,47 @@ class UserServiceTestIT {
                 .getMessage().contains(String.format("(email)=(%s)", userDto.getEmail())));
     }
 
+    @Test
+    void addOne_shouldShareOneNewAddress_whenUsersWithSameAddressAddedConcurrently() throws Exception {
+        // given
+        var threads = 8;
+        var usersPerThread = 25;
+        var start = new CountDownLatch(1);
+        var executor = Executors.newFixedThreadPool(threads);
+        var tasks = new ArrayList<Callable<Set<Long>>>();
+        for (int thread = 0; thread < threads; thread++) {
+            var threadNumber = thread;
+            tasks.add(() -> {
+                start.await();
+                var addressIds = new HashSet<Long>();
+                for (int i = 0; i < usersPerThread; i++) {
+                    var addressDto = getAddressDto();
+                    addressDto.setCountry("newCountry");
+                    var userDto = getUserDto();
+                    userDto.setEmail(String.format("concurrent%d.%d@gmail.com", threadNumber, i));
+                    userDto.setAddressDto(addressDto);
+                    addressIds.add(userService.addOne(userDto).getAddressDto().getId());
+                }
+                return addressIds;
+            });
+        }
+
+        // test
+        var addressIds = new HashSet<Long>();
+        try {
+            var futures = tasks.stream().map(executor::submit).collect(Collectors.toList());
+            start.countDown();
+            for (var future : futures) {
+                addressIds.addAll(future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // verify
+        assertEquals(1, addressIds.size());
+    }
+
     @Test
     void getOneById_shouldReturn() {
         // given
@@ -170,6 +220,21 @@ class UserServiceTestIT {
         assertNotNull(result.getAddressDto());
     }
 
+    @Test
+    void getAllByIds_shouldReturnUsersWithAddressesInRequestOrder() {
+        // given
+        var missingId = 1000L;
+
+        // test
+        var result = userService.getAllByIds(List.of(LAST_ENTITY_ID, missingId, FIRST_ENTITY_ID));
+
+        // verify
+        assertEquals(List.of(LAST_ENTITY_ID, FIRST_ENTITY_ID),
+                result.getUsers().stream().map(UserDto::getId).collect(Collectors.toList()));
+        result.getUsers().forEach(user -> assertNotNull(user.getAddressDto()));
+        assertEquals(List.of(missingId), result.getMissingIds());
+    }
+
     @Test
     void getOneById_shouldThrowException_whenUserByIdNotExistInDb() {
         // given
@@ -200,9 +265,9 @@ class UserServiceTestIT {
         userDto.setFirstName(newFirstName);
         userDto.setAddressDto(addressDto);
 
-        var newAddressDto = getAddressDto(NEW_ENTITY_ID);
+        var newAddressDto = getAddressDto();
         newAddressDto.setCountry(newCountry);
-        var expectedResult = getUserDto(NEW_ENTITY_ID);
+        var expectedResult = getUserDto();
         expectedResult.setEmail(newMail);
         expectedResult.setFirstName(newFirstName);
         expectedResult.setAddressDto(newAddressDto);
@@ -215,7 +280,7 @@ class UserServiceTestIT {
         assertNotNull(result.getId());
         assertEquals(updatedUserId, result.getId());
         assertEquals(newAddressDto, result.getAddressDto());
-        assertEquals(NEW_ENTITY_ID, result.getAddressDto().getId());
+        assertTrue(result.getAddressDto().getId() > LAST_ENTITY_ID);
         assertEquals(expectedResult, result);
     }
 
@@ -231,7 +296,7 @@ class UserServiceTestIT {
         userDto.setAddressDto(addressDto);
 
         var addressFromDb = getAddressDto(FIRST_ENTITY_ID);
-        var expectedResult = getUserDto(NEW_ENTITY_ID);
+        var expectedResult = getUserDto();
         expectedResult.setFirstName(newFirstName);
         expectedResult.setAddressDto(addressFromDb);
 
@@ -293,7 +358,7 @@ class UserServiceTestIT {
         addressDto.setCountry(newCountry);
 
         // in DB contain 5 addresses
-        var newAddressDto = getAddressDto(NEW_ENTITY_ID);
+        var newAddressDto = getAddressDto();
         newAddressDto.setCountry(newCountry);
         var expectedResult = getUserDto(userId);
         expectedResult.setAddressDto(newAddressDto);
@@ -305,7 +370,7 @@ class UserServiceTestIT {
         assertNotNull(result);
         assertNotNull(result.getId());
         assertEquals(addressDto, result.getAddressDto());
-        assertEquals(NEW_ENTITY_ID, result.getAddressDto().getId());
+        assertTrue(result.getAddressDto().getId() > LAST_ENTITY_ID);
         assertEquals(expectedResult, result);
     }
 
@@ -428,4 +493,119 @@ class UserServiceTestIT {
         // verify
         assertEquals(expectedMessage, resultException.getMessage());
     }
+
+    @Test
+    void getPageByBirthDateRange_shouldReturnAllUsersOrderedByBirthDateAndId_whenReadPageByPage() {
+        // given
+        var from = LocalDate.parse("2000-01-01");
+        var to = LocalDate.parse("2003-01-01");
+        var limit = 2;
+        var foundIds = new ArrayList<Long>();
+
+        // test
+        var page = userService.getPageByBirthDateRange(from, to, limit, null);
+        page.getContent().forEach(userDto -> foundIds.add(userDto.getId()));
+        var pagesCount = 1;
+        while (page.getNext() != null) {
+            page = userService.getPageByBirthDateRange(from, to, limit, page.getNext());
+            page.getContent().forEach(userDto -> foundIds.add(userDto.getId()));
+            pagesCount++;
+        }
+
+        // verify
+        assertEquals(3, pagesCount);
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), foundIds);
+    }
+
+    @Test
+    void exportAllByBirthDateRange_shouldPassAllUsersOrderedByBirthDateAndId() {
+        // given
+        var from = LocalDate.parse("2000-01-01");
+        var to = LocalDate.parse("2003-01-01");
+        var exportedIds = new ArrayList<Long>();
+
+        // test
+        userService.exportAllByBirthDateRange(from, to, userDto -> {
+            assertNotNull(userDto.getAddressDto());
+            exportedIds.add(userDto.getId());
+        });
+
+        // verify
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), exportedIds);
+    }
+
+    @Test
+    void getPageByBirthdayRange_shouldReturnUsersOfAnyYear_whenRangeWrapsOverYearEnd() {
+        // given
+        var lastDayUser = getUserDto();
+        lastDayUser.setEmail("last.day@gmail.com");
+        lastDayUser.setBirthDate(LocalDate.parse("1990-12-31"));
+        var firstDayUser = getUserDto();
+        firstDayUser.setEmail("first.day@gmail.com");
+        firstDayUser.setBirthDate(LocalDate.parse("2001-01-01"));
+        var lastDayUserId = userService.addOne(lastDayUser).getId();
+        var firstDayUserId = userService.addOne(firstDayUser).getId();
+
+        // test
+        var result = userService.getPageByBirthdayRange(MonthDay.of(12, 30), MonthDay.of(1, 2), 10, null);
+
+        // verify
+        assertNull(result.getNext());
+        // the range is read from its start, so December goes first
+        assertEquals(List.of(lastDayUserId, firstDayUserId),
+                result.getContent().stream().map(UserDto::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void search_shouldReturnUserByAddress_whenCountryDiffersByCase() {
+        // given
+        var criteria = UserSearchCriteria.builder()
+                .country("COUNTRY2")
+                .zipcode(2)
+                .build();
+
+        // test
+        var result = userService.search(criteria, 10, null);
+
+        // verify
+        assertNull(result.getNext());
+        assertEquals(List.of(2L), result.getContent().stream().map(UserDto::getId).collect(Collectors.toList()));
+        assertEquals("Country2", result.getContent().get(0).getAddressDto().getCountry());
+    }
+
+    @Test
+    void search_shouldReturnAllUsersOrderedById_whenReadPageByPage() {
+        // given
+        var criteria = UserSearchCriteria.builder()
+                .lastNamePrefix("user")
+                .emailDomain("GMAIL.com")
+                .birthDateTo(LocalDate.parse("2003-01-01"))
+                .build();
+        var foundIds = new ArrayList<Long>();
+
+        // test
+        var page = userService.search(criteria, 2, null);
+        page.getContent().forEach(userDto -> foundIds.add(userDto.getId()));
+        while (page.getNext() != null) {
+            page = userService.search(criteria, 2, page.getNext());
+            page.getContent().forEach(userDto -> foundIds.add(userDto.getId()));
+        }
+
+        // verify
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), foundIds);
+    }
+
+    @Test
+    void search_shouldMatchWildcardsLiterally_whenLastNameContainsThem() {
+        // given
+        var criteria = UserSearchCriteria.builder()
+                .lastNamePrefix("User_")
+                .build();
+
+        // test
+        var result = userService.search(criteria, 10, null);
+
+        // verify
+        assertTrue(result.getContent().isEmpty());
+    }
 }
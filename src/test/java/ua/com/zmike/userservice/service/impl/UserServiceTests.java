@@ -1,30 +1,44 @@
 package ua.com.zmike.userservice.service.impl;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.support.NoOpCacheManager;
 import ua.com.zmike.userservice.converter.DtoConverter;
-import ua.com.zmike.userservice.dto.AddressDto;
 import ua.com.zmike.userservice.dto.UserDto;
+import ua.com.zmike.userservice.dto.UserSearchCriteria;
+import ua.com.zmike.userservice.exception.IncorrectValueException;
 import ua.com.zmike.userservice.exception.TargetNotFoundException;
-import ua.com.zmike.userservice.model.Address;
 import ua.com.zmike.userservice.model.User;
+import ua.com.zmike.userservice.repository.UserReadRepository;
 import ua.com.zmike.userservice.repository.UserRepository;
 import ua.com.zmike.userservice.service.AddressService;
+import ua.com.zmike.userservice.service.CacheInvalidationService;
 import ua.com.zmike.userservice.service.UserService;
+import ua.com.zmike.userservice.util.CacheLoadGuard;
+import ua.com.zmike.userservice.util.CursorUtil;
+import ua.com.zmike.userservice.util.SingleFlight;
 
 import java.time.LocalDate;
+import java.time.MonthDay;
+import java.time.Year;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.only;
 import static org.mockito.Mockito.times;
@@ -32,6 +46,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
+import static ua.com.zmike.userservice.config.CacheConfig.USERS_CACHE;
 import static ua.com.zmike.userservice.testUtil.TestEntityFactory.getAddress;
 import static ua.com.zmike.userservice.testUtil.TestEntityFactory.getAddressDto;
 import static ua.com.zmike.userservice.testUtil.TestEntityFactory.getUser;
@@ -47,17 +62,21 @@ class UserServiceTests {
     @Mock
     private DtoConverter<UserDto, User> userDtoConverter;
     @Mock
-    private DtoConverter<AddressDto, Address> addressDtoConverter;
-    @Mock
     private UserRepository userRepository;
     @Mock
+    private UserReadRepository userReadRepository;
+    @Mock
     private AddressService addressService;
+    @Mock
+    private CacheInvalidationService cacheInvalidationService;
 
     private UserService userService;
 
     @BeforeEach
     void setUp() {
-        userService = new UserServiceImpl(userDtoConverter, addressDtoConverter, userRepository, addressService);
+        userService = new UserServiceImpl(userDtoConverter, userRepository, userReadRepository, addressService,
+                cacheInvalidationService, new SingleFlight<>(new SimpleMeterRegistry().counter("collapsed")),
+                new CacheLoadGuard(new NoOpCacheManager()));
     }
 
     @Test
@@ -77,10 +96,7 @@ class UserServiceTests {
                 .convertFromDto(incomingUserDto))
                 .thenReturn(user);
         when(addressService
-                .findByExample(addressDto))
-                .thenReturn(Optional.empty());
-        when(addressDtoConverter
-                .convertFromDto(addressDto))
+                .resolveOrCreate(addressDto))
                 .thenReturn(newAddress);
         user.setAddress(newAddress);
         when(userRepository
@@ -96,8 +112,7 @@ class UserServiceTests {
         // verify
         assertThat(result).isEqualTo(expectedResult);
         verify(userDtoConverter, times(1)).convertFromDto(incomingUserDto);
-        verify(addressService, only()).findByExample(addressDto);
-        verify(addressDtoConverter, only()).convertFromDto(addressDto);
+        verify(addressService, only()).resolveOrCreate(addressDto);
         verify(userRepository, only()).save(user);
         verify(userDtoConverter, times(1)).convertToDto(savedUser);
         verifyNoMoreInteractions(userDtoConverter);
@@ -120,8 +135,8 @@ class UserServiceTests {
                 .convertFromDto(getUserDto()))
                 .thenReturn(user);
         when(addressService
-                .findByExample(addressDto))
-                .thenReturn(addressFromDb);
+                .resolveOrCreate(addressDto))
+                .thenReturn(addressFromDb.get());
         user.setAddress(addressFromDb.get());
         when(userRepository
                 .save(user))
@@ -136,36 +151,50 @@ class UserServiceTests {
         // verify
         assertThat(result).isEqualTo(expectedResult);
         verify(userDtoConverter, times(1)).convertFromDto(incomingUserDto);
-        verify(addressService, only()).findByExample(addressDto);
+        verify(addressService, only()).resolveOrCreate(addressDto);
         verify(userRepository, only()).save(user);
         verify(userDtoConverter, times(1)).convertToDto(savedUser);
         verifyNoMoreInteractions(userDtoConverter);
-        verifyNoInteractions(addressDtoConverter);
     }
 
     @Test
     void getOneById_shouldReturn() {
         // given
         var userId = 1L;
-
-        var optionalUserFromDb = Optional.of(getUser(userId));
-        var userFromDb = optionalUserFromDb.get();
         var expectedResult = getUserDto(userId);
 
-        when(userRepository
+        when(userReadRepository
                 .findById(userId))
-                .thenReturn(optionalUserFromDb);
-        when(userDtoConverter
-                .convertToDto(userFromDb))
-                .thenReturn(expectedResult);
+                .thenReturn(Optional.of(expectedResult));
 
         // test
         var result = userService.getOneById(userId);
 
         // verify
         assertThat(result).isEqualTo(expectedResult);
-        verify(userRepository, only()).findById(userId);
-        verify(userDtoConverter, only()).convertToDto(optionalUserFromDb.get());
+        verify(userReadRepository, only()).findById(userId);
+        verifyNoInteractions(userRepository, userDtoConverter);
+    }
+
+    @Test
+    void getAllByIds_shouldReturnUsersInRequestOrderAndMissingIds() {
+        // given
+        var missingId = 1000L;
+        var firstUserDto = getUserDto(FIRST_ENTITY_ID);
+        var newUserDto = getUserDto(NEW_ENTITY_ID);
+
+        when(userReadRepository
+                .findAllByIds(Set.of(NEW_ENTITY_ID, missingId, FIRST_ENTITY_ID)))
+                .thenReturn(List.of(firstUserDto, newUserDto));
+
+        // test
+        var result = userService.getAllByIds(List.of(NEW_ENTITY_ID, missingId, FIRST_ENTITY_ID, NEW_ENTITY_ID));
+
+        // verify
+        assertThat(result.getUsers()).containsExactly(newUserDto, firstUserDto);
+        assertThat(result.getMissingIds()).containsExactly(missingId);
+        verify(userReadRepository, only()).findAllByIds(Set.of(NEW_ENTITY_ID, missingId, FIRST_ENTITY_ID));
+        verifyNoInteractions(userRepository, userDtoConverter);
     }
 
     @Test
@@ -174,7 +203,7 @@ class UserServiceTests {
         var userId = 1000L;
         var expectedException = new TargetNotFoundException("User", "id", userId);
 
-        when(userRepository
+        when(userReadRepository
                 .findById(userId))
                 .thenReturn(Optional.empty());
 
@@ -207,8 +236,8 @@ class UserServiceTests {
                 .findById(userId))
                 .thenReturn(userFromDB);
         when(addressService
-                .findByExample(addressDto))
-                .thenReturn(addressFromDb);
+                .resolveOrCreate(addressDto))
+                .thenReturn(addressFromDb.get());
         user.setAddress(addressFromDb.get());
         when(userRepository
                 .save(user))
@@ -223,11 +252,10 @@ class UserServiceTests {
         // verify
         assertThat(result).isEqualTo(expectedResult);
         verify(userRepository, times(1)).findById(userId);
-        verify(addressService, only()).findByExample(addressDto);
+        verify(addressService, only()).resolveOrCreate(addressDto);
         verify(userRepository, times(1)).save(user);
         verify(userDtoConverter, times(1)).convertToDto(updatedUser);
         verifyNoMoreInteractions(userDtoConverter, userRepository);
-        verifyNoInteractions(addressDtoConverter);
     }
 
     @Test
@@ -249,10 +277,7 @@ class UserServiceTests {
                 .findById(userId))
                 .thenReturn(userFromDB);
         when(addressService
-                .findByExample(addressDto))
-                .thenReturn(Optional.empty());
-        when(addressDtoConverter
-                .convertFromDto(addressDto))
+                .resolveOrCreate(addressDto))
                 .thenReturn(newAddress);
         user.setAddress(newAddress);
         when(userRepository
@@ -268,8 +293,7 @@ class UserServiceTests {
         // verify
         assertThat(result).isEqualTo(expectedResult);
         verify(userRepository, times(1)).findById(userId);
-        verify(addressService, only()).findByExample(addressDto);
-        verify(addressDtoConverter, only()).convertFromDto(addressDto);
+        verify(addressService, only()).resolveOrCreate(addressDto);
         verify(userRepository, times(1)).save(user);
         verify(userDtoConverter, times(1)).convertToDto(updatedUser);
         verifyNoMoreInteractions(userDtoConverter, userRepository);
@@ -287,12 +311,12 @@ class UserServiceTests {
 
         // test
         var resultException = assertThrows(
-                TargetNotFoundException.class, () -> userService.getOneById(userId));
+                TargetNotFoundException.class, () -> userService.updateOne(userId, getUserDto()));
 
         // verify
         assertEquals(expectedException.getMessage(), resultException.getMessage());
         verify(userRepository, only()).findById(userId);
-        verifyNoInteractions(addressService, userDtoConverter, addressDtoConverter);
+        verifyNoInteractions(addressService, userDtoConverter);
     }
 
     @Test
@@ -315,8 +339,8 @@ class UserServiceTests {
                 .findById(userId))
                 .thenReturn(optionalUserFromDb);
         when(addressService
-                .findByExample(incomingAddressDto))
-                .thenReturn(addressFromDb);
+                .resolveOrCreate(incomingAddressDto))
+                .thenReturn(addressFromDb.get());
         userFromDb.setAddress(addressFromDb.get());
         when(userRepository
                 .save(userFromDb))
@@ -331,11 +355,10 @@ class UserServiceTests {
         // verify
         assertThat(result).isEqualTo(expectedResult);
         verify(userRepository, times(1)).findById(userId);
-        verify(addressService, only()).findByExample(incomingAddressDto);
+        verify(addressService, only()).resolveOrCreate(incomingAddressDto);
         verify(userRepository, times(1)).save(userFromDb);
         verify(userDtoConverter, only()).convertToDto(updatedUser);
         verifyNoMoreInteractions(userRepository);
-        verifyNoInteractions(addressDtoConverter);
     }
 
     @Test
@@ -358,10 +381,7 @@ class UserServiceTests {
                 .findById(userId))
                 .thenReturn(optionalUserFromDb);
         when(addressService
-                .findByExample(incomingAddressDto))
-                .thenReturn(Optional.empty());
-        when(addressDtoConverter
-                .convertFromDto(incomingAddressDto))
+                .resolveOrCreate(incomingAddressDto))
                 .thenReturn(newAddress);
         userFromDb.setAddress(newAddress);
         when(userRepository
@@ -377,8 +397,7 @@ class UserServiceTests {
         // verify
         assertThat(result).isEqualTo(expectedResult);
         verify(userRepository, times(1)).findById(userId);
-        verify(addressService, only()).findByExample(incomingAddressDto);
-        verify(addressDtoConverter, only()).convertFromDto(incomingAddressDto);
+        verify(addressService, only()).resolveOrCreate(incomingAddressDto);
         verify(userRepository, times(1)).save(userFromDb);
         verify(userDtoConverter, only()).convertToDto(updatedUser);
         verifyNoMoreInteractions(userRepository);
@@ -403,11 +422,11 @@ class UserServiceTests {
         // verify
         assertEquals(expectedException.getMessage(), resultException.getMessage());
         verify(userRepository, only()).findById(userId);
-        verifyNoInteractions(addressService, userDtoConverter, addressDtoConverter);
+        verifyNoInteractions(addressService, userDtoConverter);
     }
 
     @Test
-    void deleteOneById_shouldDelete() {
+    void deleteOneById_shouldDeleteAndPublishInvalidation() {
         // given
         var deletedUserId = 1L;
 
@@ -420,6 +439,7 @@ class UserServiceTests {
 
         // verify
         verify(userRepository, only()).deleteById(deletedUserId);
+        verify(cacheInvalidationService, only()).publish(USERS_CACHE, deletedUserId);
     }
 
     @Test
@@ -428,34 +448,22 @@ class UserServiceTests {
         var from = LocalDate.parse("2000-01-01");
         var to = LocalDate.parse("2005-01-01");
 
-        var firstFoundUserByRange = getUser();
-        var secondFoundUserByRange = getUser();
-        secondFoundUserByRange.setEmail("some@gmail.com");
-        var foundUsersByRange = Set.of(firstFoundUserByRange, secondFoundUserByRange);
-
         var firstFoundUserDto = getUserDto();
         var secondFoundUserDto = getUserDto();
         secondFoundUserDto.setEmail("some@gmail.com");
         var expectedResult = Set.of(firstFoundUserDto, secondFoundUserDto);
 
-        when(userRepository
+        when(userReadRepository
                 .findAllByBirthDateBetween(from, to))
-                .thenReturn(foundUsersByRange);
-        when(userDtoConverter
-                .convertToDto(firstFoundUserByRange))
-                .thenReturn(firstFoundUserDto);
-        when(userDtoConverter
-                .convertToDto(secondFoundUserByRange))
-                .thenReturn(secondFoundUserDto);
+                .thenReturn(List.of(firstFoundUserDto, secondFoundUserDto));
 
         // test
         var result = userService.getAllByBirthDateRange(from, to);
 
         // verify
         assertThat(result).isEqualTo(expectedResult);
-        verify(userRepository, only()).findAllByBirthDateBetween(from, to);
-        verify(userDtoConverter, times(2)).convertToDto(any(User.class));
-        verifyNoMoreInteractions(userDtoConverter);
+        verify(userReadRepository, only()).findAllByBirthDateBetween(from, to);
+        verifyNoInteractions(userRepository, userDtoConverter);
     }
 
     @Test
@@ -464,16 +472,341 @@ class UserServiceTests {
         var from = LocalDate.parse("2005-01-01");
         var to = LocalDate.parse("2010-01-01");
 
-        when(userRepository
+        when(userReadRepository
                 .findAllByBirthDateBetween(from, to))
-                .thenReturn(Collections.emptySet());
+                .thenReturn(Collections.emptyList());
 
         // test
         var result = userService.getAllByBirthDateRange(from, to);
 
         // verify
         assertThat(result).isEqualTo(Collections.emptySet());
-        verify(userRepository, only()).findAllByBirthDateBetween(from, to);
+        verify(userReadRepository, only()).findAllByBirthDateBetween(from, to);
         verifyNoInteractions(userDtoConverter);
     }
+
+    @Test
+    void getPageByBirthDateRange_shouldReturnPageWithNextCursor_whenMoreUsersThanLimitExistInDb() {
+        // given
+        var from = LocalDate.parse("2000-01-01");
+        var to = LocalDate.parse("2005-01-01");
+        var limit = 1;
+
+        var firstFoundUserDto = getUserDto(FIRST_ENTITY_ID);
+        var secondFoundUserDto = getUserDto(NEW_ENTITY_ID);
+
+        when(userReadRepository
+                .findPageByBirthDateBetween(from, to, from, 0L, limit + 1))
+                .thenReturn(List.of(firstFoundUserDto, secondFoundUserDto));
+
+        // test
+        var result = userService.getPageByBirthDateRange(from, to, limit, null);
+
+        // verify
+        assertThat(result.getContent()).containsExactly(firstFoundUserDto);
+        assertThat(result.getNext()).isEqualTo(CursorUtil.encode(firstFoundUserDto.getBirthDate(), FIRST_ENTITY_ID));
+        verify(userReadRepository, only()).findPageByBirthDateBetween(from, to, from, 0L, limit + 1);
+    }
+
+    @Test
+    void getPageByBirthDateRange_shouldReturnLastPage_whenNextCursorPointsToLastUsers() {
+        // given
+        var from = LocalDate.parse("2000-01-01");
+        var to = LocalDate.parse("2005-01-01");
+        var limit = 2;
+        var afterBirthDate = LocalDate.parse("2000-02-02");
+        var next = CursorUtil.encode(afterBirthDate, FIRST_ENTITY_ID);
+
+        var foundUserDto = getUserDto(NEW_ENTITY_ID);
+
+        when(userReadRepository
+                .findPageByBirthDateBetween(from, to, afterBirthDate, FIRST_ENTITY_ID, limit + 1))
+                .thenReturn(List.of(foundUserDto));
+
+        // test
+        var result = userService.getPageByBirthDateRange(from, to, limit, next);
+
+        // verify
+        assertThat(result.getContent()).containsExactly(foundUserDto);
+        assertThat(result.getNext()).isNull();
+        verify(userReadRepository, only())
+                .findPageByBirthDateBetween(from, to, afterBirthDate, FIRST_ENTITY_ID, limit + 1);
+    }
+
+    @Test
+    void getPageByBirthDateRange_shouldThrowException_whenNextCursorNotValid() {
+        // given
+        var from = LocalDate.parse("2000-01-01");
+        var to = LocalDate.parse("2005-01-01");
+        var next = "not-a-cursor";
+
+        // test
+        var resultException = assertThrows(
+                IncorrectValueException.class, () -> userService.getPageByBirthDateRange(from, to, 10, next));
+
+        // verify
+        assertEquals("Incorrect value: Cursor 'not-a-cursor' is not valid", resultException.getMessage());
+        verifyNoInteractions(userReadRepository, userDtoConverter);
+    }
+
+    @Test
+    void search_shouldReturnPageWithNextCursor_whenMoreUsersThanLimitFound() {
+        // given
+        var criteria = UserSearchCriteria.builder()
+                .country("Country1")
+                .emailDomain("gmail.com")
+                .build();
+        var limit = 1;
+        var firstFoundUserDto = getUserDto(FIRST_ENTITY_ID);
+        var secondFoundUserDto = getUserDto(NEW_ENTITY_ID);
+
+        when(userReadRepository
+                .search(criteria, 0L, limit + 1))
+                .thenReturn(List.of(firstFoundUserDto, secondFoundUserDto));
+
+        // test
+        var result = userService.search(criteria, limit, null);
+
+        // verify
+        assertThat(result.getContent()).containsExactly(firstFoundUserDto);
+        assertThat(result.getNext()).isEqualTo(CursorUtil.encode(FIRST_ENTITY_ID));
+        verify(userReadRepository, only()).search(criteria, 0L, limit + 1);
+    }
+
+    @Test
+    void search_shouldThrowException_whenBirthDateToLessDateFrom() {
+        // given
+        var criteria = UserSearchCriteria.builder()
+                .birthDateFrom(LocalDate.parse("2005-01-01"))
+                .birthDateTo(LocalDate.parse("2000-01-01"))
+                .build();
+
+        // test
+        var resultException = assertThrows(
+                IncorrectValueException.class, () -> userService.search(criteria, 10, null));
+
+        // verify
+        assertEquals("Incorrect value: Date 'date from' must be less then 'date to'", resultException.getMessage());
+        verifyNoInteractions(userReadRepository);
+    }
+
+    @Test
+    void searchByText_shouldReturnRankedUsersFromReadRepository() {
+        // given
+        var limit = 20;
+        var foundUserDtos = List.of(getUserDto(NEW_ENTITY_ID), getUserDto(FIRST_ENTITY_ID));
+
+        when(userReadRepository
+                .searchByText("user", limit))
+                .thenReturn(foundUserDtos);
+
+        // test
+        var result = userService.searchByText("user", limit);
+
+        // verify
+        assertThat(result).isEqualTo(foundUserDtos);
+        verify(userReadRepository, only()).searchByText("user", limit);
+    }
+
+    @Test
+    void getPageByAgeRange_shouldQueryBirthDateBounds_whenAgeRangeValid() {
+        // given
+        var minAge = 18;
+        var maxAge = 30;
+        var limit = 10;
+        var today = LocalDate.now();
+        var from = today.minusYears(31).plusDays(1);
+        var to = today.minusYears(18);
+        var foundUserDto = getUserDto(FIRST_ENTITY_ID);
+
+        when(userReadRepository
+                .findPageByBirthDateBetween(from, to, from, 0L, limit + 1))
+                .thenReturn(List.of(foundUserDto));
+
+        // test
+        var result = userService.getPageByAgeRange(minAge, maxAge, limit, null);
+
+        // verify
+        assertThat(result.getContent()).containsExactly(foundUserDto);
+        assertThat(result.getNext()).isNull();
+        verify(userReadRepository, only()).findPageByBirthDateBetween(from, to, from, 0L, limit + 1);
+    }
+
+    @Test
+    void getPageByAgeRange_shouldThrowException_whenMinAgeGreaterThanMaxAge() {
+        // test
+        var resultException = assertThrows(
+                IncorrectValueException.class, () -> userService.getPageByAgeRange(30, 18, 10, null));
+
+        // verify
+        assertEquals("Incorrect value: Age 'min age' must not be greater then 'max age'", resultException.getMessage());
+        verifyNoInteractions(userReadRepository);
+    }
+
+    @Test
+    void getPageByBirthdayRange_shouldQueryBothSegmentsAndReturnNextCursor_whenRangeWrapsOverYearEnd() {
+        // given
+        var from = MonthDay.of(12, 30);
+        var to = MonthDay.of(1, 5);
+        var limit = 1;
+
+        var firstFoundUserDto = getUserDto(FIRST_ENTITY_ID);
+        firstFoundUserDto.setBirthDate(LocalDate.parse("1990-12-31"));
+        var secondFoundUserDto = getUserDto(NEW_ENTITY_ID);
+        secondFoundUserDto.setBirthDate(LocalDate.parse("2000-01-02"));
+
+        when(userReadRepository
+                .findPageByBirthMonthDay(1230, 1231, 0, 0L, limit + 1))
+                .thenReturn(List.of(firstFoundUserDto));
+        when(userReadRepository
+                .findPageByBirthMonthDay(101, 105, 0, 0L, limit))
+                .thenReturn(List.of(secondFoundUserDto));
+
+        // test
+        var result = userService.getPageByBirthdayRange(from, to, limit, null);
+
+        // verify
+        assertThat(result.getContent()).containsExactly(firstFoundUserDto);
+        assertThat(result.getNext()).isEqualTo(CursorUtil.encode(0, 1231, FIRST_ENTITY_ID));
+        verify(userReadRepository).findPageByBirthMonthDay(1230, 1231, 0, 0L, limit + 1);
+        verify(userReadRepository).findPageByBirthMonthDay(101, 105, 0, 0L, limit);
+        verifyNoMoreInteractions(userReadRepository);
+    }
+
+    @Test
+    void getPageByBirthdayRange_shouldQuerySecondSegmentOnly_whenCursorPointsToIt() {
+        // given
+        var from = MonthDay.of(12, 30);
+        var to = MonthDay.of(1, 5);
+        var limit = 10;
+        var next = CursorUtil.encode(1, 102, FIRST_ENTITY_ID);
+
+        when(userReadRepository
+                .findPageByBirthMonthDay(101, 105, 102, FIRST_ENTITY_ID, limit + 1))
+                .thenReturn(Collections.emptyList());
+
+        // test
+        var result = userService.getPageByBirthdayRange(from, to, limit, next);
+
+        // verify
+        assertThat(result.getContent()).isEmpty();
+        assertThat(result.getNext()).isNull();
+        verify(userReadRepository, only()).findPageByBirthMonthDay(101, 105, 102, FIRST_ENTITY_ID, limit + 1);
+    }
+
+    @Test
+    void getPageByBirthdayRange_shouldIncludeLeapDayInCommonYear_whenRangeStartsOnMarch1() {
+        // given
+        var from = MonthDay.of(3, 1);
+        var limit = 10;
+        var fromKey = Year.now().isLeap() ? 301 : 229;
+
+        when(userReadRepository
+                .findPageByBirthMonthDay(fromKey, 301, 0, 0L, limit + 1))
+                .thenReturn(Collections.emptyList());
+
+        // test
+        var result = userService.getPageByBirthdayRange(from, from, limit, null);
+
+        // verify
+        assertThat(result.getContent()).isEmpty();
+        assertThat(result.getNext()).isNull();
+        verify(userReadRepository, only()).findPageByBirthMonthDay(fromKey, 301, 0, 0L, limit + 1);
+    }
+
+    @Test
+    void getPageByBirthdayRange_shouldExcludeLeapDayInCommonYear_whenRangeEndsOnFebruary29() {
+        // given
+        var from = MonthDay.of(2, 1);
+        var to = MonthDay.of(2, 29);
+        var limit = 10;
+        var toKey = Year.now().isLeap() ? 229 : 228;
+
+        when(userReadRepository
+                .findPageByBirthMonthDay(201, toKey, 0, 0L, limit + 1))
+                .thenReturn(Collections.emptyList());
+
+        // test
+        var result = userService.getPageByBirthdayRange(from, to, limit, null);
+
+        // verify
+        assertThat(result.getContent()).isEmpty();
+        verify(userReadRepository, only()).findPageByBirthMonthDay(201, toKey, 0, 0L, limit + 1);
+    }
+
+    @Test
+    void getPageByBirthdayRange_shouldThrowException_whenCursorHasNoSegment() {
+        // given
+        var next = CursorUtil.encode(102, FIRST_ENTITY_ID);
+
+        // test
+        var resultException = assertThrows(IncorrectValueException.class,
+                () -> userService.getPageByBirthdayRange(MonthDay.of(12, 30), MonthDay.of(1, 5), 10, next));
+
+        // verify
+        assertEquals(String.format("Incorrect value: Cursor '%s' is not valid", next), resultException.getMessage());
+        verifyNoInteractions(userReadRepository);
+    }
+
+    @Test
+    void getPageByBirthdayRange_shouldThrowException_whenCursorSegmentOutOfRange() {
+        // given
+        var negativeSegment = CursorUtil.encode(-1, 102, FIRST_ENTITY_ID);
+        var missingSegment = CursorUtil.encode(1, 102, FIRST_ENTITY_ID);
+
+        // test
+        var negativeSegmentException = assertThrows(IncorrectValueException.class,
+                () -> userService.getPageByBirthdayRange(MonthDay.of(12, 30), MonthDay.of(1, 5), 10, negativeSegment));
+        var missingSegmentException = assertThrows(IncorrectValueException.class,
+                () -> userService.getPageByBirthdayRange(MonthDay.of(1, 1), MonthDay.of(1, 5), 10, missingSegment));
+
+        // verify
+        assertEquals(String.format("Incorrect value: Cursor '%s' is not valid", negativeSegment),
+                negativeSegmentException.getMessage());
+        assertEquals(String.format("Incorrect value: Cursor '%s' is not valid", missingSegment),
+                missingSegmentException.getMessage());
+        verifyNoInteractions(userReadRepository);
+    }
+
+    @Test
+    void exportAllByBirthDateRange_shouldPassEveryUserToConsumer() {
+        // given
+        var from = LocalDate.parse("2000-01-01");
+        var to = LocalDate.parse("2005-01-01");
+
+        var firstFoundUserDto = getUserDto();
+        var secondFoundUserDto = getUserDto();
+        secondFoundUserDto.setEmail("some@gmail.com");
+        var exportedUsers = new ArrayList<UserDto>();
+
+        doAnswer(invocation -> {
+            Consumer<UserDto> consumer = invocation.getArgument(2);
+            consumer.accept(firstFoundUserDto);
+            consumer.accept(secondFoundUserDto);
+            return null;
+        }).when(userReadRepository).streamAllByBirthDateBetween(eq(from), eq(to), any());
+
+        // test
+        userService.exportAllByBirthDateRange(from, to, exportedUsers::add);
+
+        // verify
+        assertThat(exportedUsers).containsExactly(firstFoundUserDto, secondFoundUserDto);
+        verify(userReadRepository, only()).streamAllByBirthDateBetween(eq(from), eq(to), any());
+    }
+
+    @Test
+    void exportAllByBirthDateRange_shouldThrowException_whenDateToEqualsOrLessDateFrom() {
+        // given
+        var from = LocalDate.parse("2005-01-01");
+        var to = LocalDate.parse("2000-01-01");
+
+        // test
+        var resultException = assertThrows(
+                IncorrectValueException.class, () -> userService.exportAllByBirthDateRange(from, to, userDto -> {
+                }));
+
+        // verify
+        assertEquals("Incorrect value: Date 'date from' must be less then 'date to'", resultException.getMessage());
+        verifyNoInteractions(userReadRepository, userDtoConverter);
+    }
 }
@@ -1,6 +1,6 @@
 package ua.com.zmike.userservice.testUtil;
 
-import org.springframework.beans.factory.annotation.Autowired;
+import org.hibernate.SessionFactory;
 import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.datasource.init.ScriptUtils;
@@ -14,9 +14,11 @@ import java.sql.SQLException;
 public class TestDbManager {
 
     private final Connection connection;
+    private final SessionFactory sessionFactory;
 
-    public TestDbManager(DataSource dataSource) throws SQLException {
+    public TestDbManager(DataSource dataSource, SessionFactory sessionFactory) throws SQLException {
         this.connection = dataSource.getConnection();
+        this.sessionFactory = sessionFactory;
     }
 
     public void initDataBase() {
@@ -33,5 +35,7 @@ public class TestDbManager {
 
     private void executeScript(String location) {
         ScriptUtils.executeSqlScript(connection, new DefaultResourceLoader().getResource(location));
+        // scripts change tables past Hibernate, its second-level cache would keep the rows of the previous test
+        sessionFactory.getCache().evictAllRegions();
     }
 }
@@ -1,8 +1,6 @@
 package ua.com.zmike.userservice.testUtil;
 
 import lombok.experimental.UtilityClass;
-import org.springframework.data.domain.Example;
-import org.springframework.data.domain.ExampleMatcher;
 import org.springframework.util.ObjectUtils;
 import ua.com.zmike.userservice.dto.AddressDto;
 import ua.com.zmike.userservice.dto.UserDto;
@@ -42,7 +40,7 @@ public class TestEntityFactory {
     public static User getUser(Long... id) {
         var userDto = getUserDto(id);
         var user = new User();
-        user.setId(user.getId());
+        user.setId(userDto.getId());
         user.setEmail(userDto.getEmail());
         user.setFirstName(userDto.getFirstName());
         user.setLastName(userDto.getLastName());
@@ -65,8 +63,4 @@ public class TestEntityFactory {
         address.setUsers(Collections.emptySet());
         return address;
     }
-
-    public static Example<Address> getAddressExample(Address address) {
-        return Example.of(address, ExampleMatcher.matchingAll().withIgnorePaths("id", "users").withIncludeNullValues());
-    }
 }
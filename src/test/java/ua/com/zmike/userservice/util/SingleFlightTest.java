@@ -0,0 +1,140 @@
+package ua.com.zmike.userservice.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ua.com.zmike.userservice.exception.TargetNotFoundException;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SingleFlightTest {
+
+    private static final Long KEY = 1L;
+    private static final int CALLERS = 8;
+
+    private Counter collapsedCalls;
+    private SingleFlight<Long, String> singleFlight;
+
+    @BeforeEach
+    void setUp() {
+        collapsedCalls = new SimpleMeterRegistry().counter("collapsed");
+        singleFlight = new SingleFlight<>(collapsedCalls);
+    }
+
+    @Test
+    void execute_shouldLoadOnce_whenCalledConcurrentlyForSameKey() throws Exception {
+        // given
+        var loads = new AtomicInteger();
+        var release = new CountDownLatch(1);
+        var executor = Executors.newFixedThreadPool(CALLERS);
+        var results = new ArrayList<Future<String>>();
+
+        // test
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> singleFlight.execute(KEY, () -> {
+                loads.incrementAndGet();
+                await(release);
+                return "User1";
+            })));
+        }
+        // every other caller is waiting for the first load
+        while (collapsedCalls.count() < CALLERS - 1) {
+            Thread.sleep(10);
+        }
+        release.countDown();
+        for (var result : results) {
+            assertEquals("User1", result.get(5, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        // verify
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(collapsedCalls.count()).isEqualTo(CALLERS - 1);
+    }
+
+    @Test
+    void execute_shouldLoadAgain_whenPreviousCallCompleted() {
+        // given
+        var loads = new AtomicInteger();
+
+        // test
+        singleFlight.execute(KEY, () -> "User" + loads.incrementAndGet());
+        var actualResult = singleFlight.execute(KEY, () -> "User" + loads.incrementAndGet());
+
+        // verify
+        assertEquals("User2", actualResult);
+        assertThat(collapsedCalls.count()).isZero();
+    }
+
+    @Test
+    void execute_shouldLoadAgain_whenKeyForgottenDuringLoad() throws Exception {
+        // given
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var executor = Executors.newSingleThreadExecutor();
+        var staleCall = executor.submit(() -> singleFlight.execute(KEY, () -> {
+            started.countDown();
+            await(release);
+            return "User1";
+        }));
+        await(started);
+
+        // test
+        singleFlight.forget(KEY);
+        var actualResult = singleFlight.execute(KEY, () -> "User2");
+        release.countDown();
+
+        // verify
+        assertEquals("User2", actualResult);
+        assertEquals("User1", staleCall.get(5, TimeUnit.SECONDS));
+        assertThat(collapsedCalls.count()).isZero();
+        executor.shutdown();
+    }
+
+    @Test
+    void execute_shouldThrowLoaderException_whenCallerWaitsForFailedLoad() throws Exception {
+        // given
+        var expectedException = new TargetNotFoundException("User", "id", KEY);
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var executor = Executors.newFixedThreadPool(2);
+        var leader = executor.submit(() -> singleFlight.execute(KEY, () -> {
+            started.countDown();
+            await(release);
+            throw expectedException;
+        }));
+        await(started);
+
+        // test
+        var waiter = executor.submit(() -> singleFlight.execute(KEY, () -> "User1"));
+        while (collapsedCalls.count() < 1) {
+            Thread.sleep(10);
+        }
+        release.countDown();
+
+        // verify
+        var actualException = assertThrows(ExecutionException.class, () -> waiter.get(5, TimeUnit.SECONDS));
+        assertThat(actualException.getCause()).isSameAs(expectedException);
+        assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+        executor.shutdown();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}